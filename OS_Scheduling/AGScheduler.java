@@ -1,109 +1,349 @@
 package org.example;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
-
-import java.util.*;
-
-public class AGScheduler {
+public class AGScheduler extends CPUScheduler {
 
     public AGScheduler() {
         // No context switch or aging interval needed for AG
     }
 
-    public SchedulerResult run(List<Process> processes) {
-        SchedulerResult result = new SchedulerResult();
+    @Override
+    public String toString() {
+        return "AGScheduler()";
+    }
+
+    @Override
+    protected SchedulingPolicy newPolicy(ProcessTable table, RunState state, ScheduleListener listener) {
+        return new Policy(table, state, listener, new Links(table.size()));
+    }
+
+    // Quanta and queue links follow a job from core to core
+    @Override
+    protected SchedulingPolicy[] newPolicies(ProcessTable table, RunState state, ScheduleListener listener,
+                                             int cores) {
+        Links links = new Links(table.size());
+        SchedulingPolicy[] policies = new SchedulingPolicy[cores];
+        for (int core = 0; core < cores; core++) {
+            policies[core] = new Policy(table, state, listener, links);
+        }
+        return policies;
+    }
+
+    // Per-job arrays of a run, shared by the ready queues of all cores
+    private static final class Links {
+        final int[] remainingQuantum;
+        final int[] next;
+        final int[] prev;
+        final int[] seq;
+        final int[] byPriority;
+        final int[] byRemaining;
+
+        Links(int n) {
+            remainingQuantum = new int[n];
+            next = new int[n];
+            prev = new int[n];
+            seq = new int[n];
+            byPriority = IndexedMinHeap.positions(n);
+            byRemaining = IndexedMinHeap.positions(n);
+        }
+    }
+
+    // One dispatch runs a quantum in three phases: FCFS (non-preemptive), then priority
+    // (a higher-priority job may take over at its start), then SJF (a shorter job may take
+    // over at its start or on any arrival). The job that preempts runs next.
+    private static final class Policy implements SchedulingPolicy {
+        private final ProcessTable table;
+        private final int[] remaining;
+        private final int[] id;
+        private final RunState state;
+        private final ScheduleListener listener;
+        private final ReadyQueue ready;
+        private final int[] remainingQuantum;
+
+        private int preemptor = -1;
+        private int dispatchTime;
+        private int quantum;
+        private int fcfsEnd;
+        private int priorityEnd;
+
+        Policy(ProcessTable table, RunState state, ScheduleListener listener, Links links) {
+            this.table = table;
+            this.remaining = state.remaining;
+            this.id = state.id;
+            this.state = state;
+            this.listener = listener;
+            this.ready = new ReadyQueue(table, remaining, links);
+            this.remainingQuantum = links.remainingQuantum;
+        }
+
+        @Override
+        public void admit(int job, int time) {
+            remainingQuantum[job] = table.quantum[job];
+            listener.onQuantumUpdate(id[job], remainingQuantum[job]);
+            SchedulerEvents.quantumUpdate(id[job], 0, remainingQuantum[job], "arrival");
+            ready.add(job);
+        }
+
+        // Pick the preempting process, or else the head of the ready queue
+        @Override
+        public int select(int time) {
+            int job = preemptor;
+            preemptor = -1;
+            if (job == -1) {
+                if (ready.isEmpty()) {
+                    return -1;
+                }
+                job = ready.pollFirst();
+            }
+
+            dispatchTime = time;
+            quantum = remainingQuantum[job];
+            fcfsEnd = Math.min(quantum, (int) Math.ceil(0.25 * quantum));
+            priorityEnd = Math.min(quantum, 2 * fcfsEnd);
+            return job;
+        }
+
+        @Override
+        public int slice(int job, int time) {
+            return quantum;
+        }
+
+        @Override
+        public int readyCount() {
+            return ready.size();
+        }
+
+        @Override
+        public long heapOperations() {
+            return ready.heapOperations();
+        }
 
-        List<Process> all = new ArrayList<>(processes);
-        List<Process> ready = new ArrayList<>();
+        // Give away the last in line
+        @Override
+        public int steal(int time) {
+            return ready.isEmpty() ? -1 : ready.pollLast();
+        }
 
-        int time = 0;
-        int completed = 0;
+        // Migrating keeps the quantum the job has earned
+        @Override
+        public void migrate(int job, int time) {
+            ready.add(job);
+        }
 
-        // Initialize remaining burst and quantum
-        for (Process p : all) {
-            p.remaining = p.burst;
-            p.remainingQuantum = p.quantum;
+        @Override
+        public int nextCheck(int job, int time) {
+            int executed = time - dispatchTime;
+            if (executed < fcfsEnd && fcfsEnd < quantum) {
+                return dispatchTime + fcfsEnd;
+            }
+            if (executed < priorityEnd && priorityEnd < quantum) {
+                return dispatchTime + priorityEnd;
+            }
+            return Integer.MAX_VALUE;
         }
 
-        while (completed < all.size()) {
+        @Override
+        public boolean preemptsOnArrival(int job, int time) {
+            return time - dispatchTime >= priorityEnd;
+        }
 
-            // 1️⃣ Add newly arrived processes to ready queue
-            for (Process p : all) {
-                if (p.arrival <= time && !ready.contains(p) && p.remaining > 0) {
-                    ready.add(p);
+        @Override
+        public boolean preempt(int job, int time) {
+            int top;
+            if (time - dispatchTime < priorityEnd) {
+                // Priority phase boundary
+                top = ready.highestPriority();
+                if (top == -1 || table.priority[top] >= table.priority[job]) {
+                    return false;
+                }
+            } else {
+                // SJF phase boundary or arrival
+                top = ready.shortest();
+                if (top == -1 || remaining[top] >= remaining[job]) {
+                    return false;
                 }
             }
+            preemptor = top;
+            return true;
+        }
+
+        // Update quantum based on scenario
+        @Override
+        public int release(int job, Release reason, int time, boolean workRemains) {
+            int executed = time - dispatchTime;
+            int remainingQ = quantum - executed;
+            int previous = remainingQuantum[job];
+            String rule = switch (reason) {
+                case COMPLETED -> {
+                    remainingQuantum[job] = 0; // finished process
+                    yield "completed";
+                }
+                case EXPIRED -> {
+                    remainingQuantum[job] += 2; // used full quantum
+                    ready.add(job);
+                    yield "used full quantum";
+                }
+                case PREEMPTED -> {
+                    boolean priorityPhase = executed < priorityEnd;
+                    if (priorityPhase) {
+                        remainingQuantum[job] += (int) Math.ceil(remainingQ / 2.0); // Priority phase
+                    } else {
+                        remainingQuantum[job] += remainingQ; // SJF phase
+                    }
+                    ready.remove(preemptor);
+                    ready.add(job);
+                    yield priorityPhase ? "preempted in priority phase" : "preempted in SJF phase";
+                }
+            };
+            listener.onQuantumUpdate(id[job], remainingQuantum[job]);
+            SchedulerEvents.quantumUpdate(id[job], previous, remainingQuantum[job], rule);
+            return 0;
+        }
+
+        @Override
+        public void save(DataOutput out) throws IOException {
+            out.writeInt(preemptor);
+            out.writeInt(dispatchTime);
+            out.writeInt(quantum);
+            out.writeInt(fcfsEnd);
+            out.writeInt(priorityEnd);
+            Checkpoint.writeLive(out, state, remainingQuantum);
+            ready.writeTo(out);
+        }
+
+        @Override
+        public void restore(DataInput in) throws IOException {
+            preemptor = in.readInt();
+            dispatchTime = in.readInt();
+            quantum = in.readInt();
+            fcfsEnd = in.readInt();
+            priorityEnd = in.readInt();
+            Checkpoint.readLive(in, state, remainingQuantum);
+            ready.readFrom(in);
+        }
+    }
+
+    // FIFO ready queue mirrored by a priority heap and a remaining-burst heap.
+    // Both heaps break ties by queue position, so all three views agree on who came first.
+    private static final class ReadyQueue {
+        private final int[] next;
+        private final int[] prev;
+        private final int[] seq;
+        private final IndexedMinHeap byPriority;
+        private final IndexedMinHeap byRemaining;
+        private int head = -1;
+        private int tail = -1;
+        private int counter;
+        private int size;
+
+        ReadyQueue(ProcessTable table, int[] remaining, Links links) {
+            int[] priority = table.priority;
+            int[] seq = this.seq = links.seq;
+            next = links.next;
+            prev = links.prev;
+            byPriority = new IndexedMinHeap(links.byPriority, (a, b) -> {
+                int c = Integer.compare(priority[a], priority[b]);
+                return c != 0 ? c : Integer.compare(seq[a], seq[b]);
+            });
+            byRemaining = new IndexedMinHeap(links.byRemaining, (a, b) -> {
+                int c = Integer.compare(remaining[a], remaining[b]);
+                return c != 0 ? c : Integer.compare(seq[a], seq[b]);
+            });
+        }
+
+        boolean isEmpty() {
+            return head == -1;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long heapOperations() {
+            return byPriority.operations() + byRemaining.operations();
+        }
 
-            if (ready.isEmpty()) {
-                time++;
-                continue;
+        void add(int id) {
+            seq[id] = counter++;
+            prev[id] = tail;
+            next[id] = -1;
+            if (tail == -1) {
+                head = id;
+            } else {
+                next[tail] = id;
             }
+            tail = id;
+            size++;
+            byPriority.add(id);
+            byRemaining.add(id);
+        }
 
-            // 2️⃣ Pick first process in ready queue
-            Process current = ready.remove(0);
-            int originalQuantum = current.remainingQuantum;
-
-            int timeFCFS = (int) Math.ceil(0.25 * originalQuantum);
-            int timePriority = (int) Math.ceil(0.25 * originalQuantum);
-            int timeSJF = originalQuantum - timeFCFS - timePriority;
-
-            int executed = 0;
-
-            // FCFS phase
-            int t = Math.min(timeFCFS, current.remaining);
-            current.remaining -= t;
-            executed += t;
-            time += t;
-            result.executionOrder.add(current.name);
-
-            // Priority phase (non-preemptive)
-            if (current.remaining > 0) {
-                t = Math.min(timePriority, current.remaining);
-                current.remaining -= t;
-                executed += t;
-                time += t;
-                result.executionOrder.add(current.name);
+        void remove(int id) {
+            if (prev[id] == -1) {
+                head = next[id];
+            } else {
+                next[prev[id]] = next[id];
             }
+            if (next[id] == -1) {
+                tail = prev[id];
+            } else {
+                prev[next[id]] = prev[id];
+            }
+            size--;
+            byPriority.remove(id);
+            byRemaining.remove(id);
+        }
 
-            // SJF phase (preemptive)
-            if (current.remaining > 0) {
-                t = Math.min(timeSJF, current.remaining);
-                current.remaining -= t;
-                executed += t;
-                time += t;
-                result.executionOrder.add(current.name);
+        // Queue order with each job's position stamp; the heaps are rebuilt from them
+        void writeTo(DataOutput out) throws IOException {
+            out.writeInt(counter);
+            out.writeInt(size);
+            for (int id = head; id != -1; id = next[id]) {
+                out.writeInt(id);
+                out.writeInt(seq[id]);
             }
+        }
 
-            // 3️⃣ Update quantum based on scenario
-            if (current.remaining == 0) {
-                current.remainingQuantum = 0; // finished process
-                current.completionTime = time;
-                completed++;
-            } else if (executed == originalQuantum) {
-                current.remainingQuantum += 2; // used full quantum
-                ready.add(current);
-            } else if (executed < originalQuantum) {
-                if (executed <= timeFCFS + timePriority) {
-                    int remainingQ = originalQuantum - executed;
-                    current.remainingQuantum += (int) Math.ceil(remainingQ / 2.0); // Priority phase
+        void readFrom(DataInput in) throws IOException {
+            counter = in.readInt();
+            for (int n = in.readInt(); n > 0; n--) {
+                int id = in.readInt();
+                seq[id] = in.readInt();
+                prev[id] = tail;
+                next[id] = -1;
+                if (tail == -1) {
+                    head = id;
                 } else {
-                    int remainingQ = originalQuantum - executed;
-                    current.remainingQuantum += remainingQ; // SJF phase
+                    next[tail] = id;
                 }
-                ready.add(current);
+                tail = id;
+                size++;
+                byPriority.add(id);
+                byRemaining.add(id);
             }
         }
 
-        // 4️⃣ Calculate turnaround and waiting times
-        for (Process p : all) {
-            int tat = p.completionTime - p.arrival;
-            int wt = tat - p.burst;
+        int pollFirst() {
+            int id = head;
+            remove(id);
+            return id;
+        }
+
+        int pollLast() {
+            int id = tail;
+            remove(id);
+            return id;
+        }
 
-            result.turnaroundTime.put(p.name, tat);
-            result.waitingTime.put(p.name, wt);
+        int highestPriority() {
+            return byPriority.peek();
         }
 
-        return result;
+        int shortest() {
+            return byRemaining.peek();
+        }
     }
 }
-
@@ -0,0 +1,39 @@
+import org.example.*;
+import org.example.Process;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AGSchedulerTest {
+
+    @Test
+    void preemptionAtPriorityEndFollowsSjfRule() {
+        // Quantum 4: FCFS until 1, priority until 2; B is no higher priority but shorter
+        List<Process> processes = List.of(
+                new Process("A", 0, 10, 1, 4),
+                new Process("B", 1, 1, 5, 3));
+
+        SchedulerResult result = new AGScheduler().run(processes);
+
+        // A then uses all 6 and goes again
+        assertEquals(List.of("A", "B", "A", "A"), result.executionOrder);
+        // Preempted with 2 units of quantum left: SJF phase adds all of them
+        assertEquals(List.of(4, 6, 8), result.quantumHistory.get("A").subList(0, 3));
+    }
+
+    @Test
+    void preemptionInsidePriorityPhaseAddsHalf() {
+        // Quantum 8: FCFS until 2, priority until 4; B has higher priority
+        List<Process> processes = List.of(
+                new Process("A", 0, 10, 5, 8),
+                new Process("B", 1, 1, 1, 3));
+
+        SchedulerResult result = new AGScheduler().run(processes);
+
+        assertEquals(List.of("A", "B", "A"), result.executionOrder);
+        // Preempted at 2 with 6 units left: ceil(6 / 2)
+        assertEquals(List.of(8, 11), result.quantumHistory.get("A").subList(0, 2));
+    }
+}
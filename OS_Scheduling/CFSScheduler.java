@@ -0,0 +1,198 @@
+package org.example;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Completely fair, proportional-share scheduling as in Linux CFS. A job's priority is
+// its nice value (-20 .. 19, lower wins; values outside are clamped) and picks its weight
+// from the kernel's table, each step about 1.25 times the next. Running advances a job's
+// virtual runtime by the time run divided by its weight, and the job with the least
+// virtual runtime runs next, for a share of the scheduling period proportional to its
+// weight. The period is targetLatency, stretched to minGranularity per runnable job when
+// there are many. An arrival starts at the smallest virtual runtime of the ready set and
+// preempts the running job if that one is ahead by more than minGranularity's worth.
+public class CFSScheduler extends CPUScheduler {
+
+    // sched_prio_to_weight, nice -20 .. 19
+    private static final int[] WEIGHTS = {
+            88761, 71755, 56483, 46273, 36291,
+            29154, 23254, 18705, 14949, 11916,
+            9548, 7620, 6100, 4904, 3906,
+            3121, 2501, 1991, 1586, 1277,
+            1024, 820, 655, 526, 423,
+            335, 272, 215, 172, 137,
+            110, 87, 70, 56, 45,
+            36, 29, 23, 18, 15
+    };
+
+    // Virtual runtime is kept in 2^-10 time units at the nice 0 weight of 1024
+    private static final int SHIFT = 20;
+
+    private final int targetLatency;
+    private final int minGranularity;
+    private final int contextSwitch;
+
+    public CFSScheduler(int targetLatency, int minGranularity, int contextSwitch) {
+        if (targetLatency < 1 || minGranularity < 1) {
+            throw new IllegalArgumentException("Latency and granularity must be positive: "
+                    + targetLatency + ", " + minGranularity);
+        }
+        this.targetLatency = targetLatency;
+        this.minGranularity = minGranularity;
+        this.contextSwitch = contextSwitch;
+    }
+
+    public static int weight(int priority) {
+        return WEIGHTS[Math.max(-20, Math.min(19, priority)) + 20];
+    }
+
+    @Override
+    public String toString() {
+        return "CFSScheduler(targetLatency=" + targetLatency + ", minGranularity=" + minGranularity
+                + ", contextSwitch=" + contextSwitch + ")";
+    }
+
+    @Override
+    protected SchedulingPolicy newPolicy(ProcessTable table, RunState state, ScheduleListener listener) {
+        return newPolicy(table, state, IndexedMinHeap.positions(table.size()), new long[table.size()]);
+    }
+
+    // Per-core trees share one position table and the virtual runtimes
+    @Override
+    protected SchedulingPolicy[] newPolicies(ProcessTable table, RunState state, ScheduleListener listener,
+                                             int cores) {
+        int[] positions = IndexedMinHeap.positions(table.size());
+        long[] vruntime = new long[table.size()];
+        SchedulingPolicy[] policies = new SchedulingPolicy[cores];
+        for (int core = 0; core < cores; core++) {
+            policies[core] = newPolicy(table, state, positions, vruntime);
+        }
+        return policies;
+    }
+
+    private SchedulingPolicy newPolicy(ProcessTable table, RunState state, int[] positions, long[] vruntime) {
+        int[] priority = table.priority;
+
+        // Equal virtual runtimes go to the earlier arrival
+        int[] rank = state.rank;
+
+        // The kernel's red-black tree only ever serves its leftmost entry, which the
+        // indexed heap gives in O(1) with O(log n) insert and removal
+        IndexedMinHeap timeline = new IndexedMinHeap(positions, (a, b) -> {
+            int c = Long.compare(vruntime[a], vruntime[b]);
+            return c != 0 ? c : Integer.compare(rank[a], rank[b]);
+        });
+
+        return new SchedulingPolicy() {
+            // Never decreases; a floor for jobs joining the ready set
+            private long minVruntime;
+            // Weight of the ready jobs plus the running one
+            private long totalWeight;
+            private int dispatched;
+
+            private long advance(int job, int ran) {
+                return ((long) ran << SHIFT) / weight(priority[job]);
+            }
+
+            @Override
+            public void admit(int job, int time) {
+                vruntime[job] = minVruntime;
+                totalWeight += weight(priority[job]);
+                timeline.add(job);
+            }
+
+            @Override
+            public int select(int time) {
+                int job = timeline.poll();
+                if (job != -1) {
+                    minVruntime = Math.max(minVruntime, vruntime[job]);
+                    dispatched = time;
+                }
+                return job;
+            }
+
+            // Its weight's share of the period
+            @Override
+            public int slice(int job, int time) {
+                int runnable = timeline.size() + 1;
+                long period = Math.max(targetLatency, (long) minGranularity * runnable);
+                long share = period * weight(priority[job]) / totalWeight;
+                return (int) Math.min(Integer.MAX_VALUE, Math.max(minGranularity, share));
+            }
+
+            @Override
+            public int readyCount() {
+                return timeline.size();
+            }
+
+            @Override
+            public long heapOperations() {
+                return timeline.operations();
+            }
+
+            // The leftmost job; its lead over this core's other jobs goes with it
+            @Override
+            public int steal(int time) {
+                int job = timeline.poll();
+                if (job != -1) {
+                    vruntime[job] -= minVruntime;
+                    totalWeight -= weight(priority[job]);
+                }
+                return job;
+            }
+
+            @Override
+            public void migrate(int job, int time) {
+                vruntime[job] += minVruntime;
+                totalWeight += weight(priority[job]);
+                timeline.add(job);
+            }
+
+            @Override
+            public boolean preemptsOnArrival(int job, int time) {
+                return true;
+            }
+
+            @Override
+            public boolean preempt(int job, int time) {
+                int leftmost = timeline.peek();
+                if (leftmost == -1) {
+                    return false;
+                }
+                long current = vruntime[job] + advance(job, time - dispatched);
+                return current - vruntime[leftmost] > advance(leftmost, minGranularity);
+            }
+
+            @Override
+            public int release(int job, Release reason, int time, boolean workRemains) {
+                vruntime[job] += advance(job, time - dispatched);
+                if (reason == Release.COMPLETED) {
+                    totalWeight -= weight(priority[job]);
+                } else {
+                    timeline.add(job);
+                }
+                // Context switch if work remains
+                return workRemains ? contextSwitch : 0;
+            }
+
+            @Override
+            public void save(DataOutput out) throws IOException {
+                out.writeLong(minVruntime);
+                out.writeLong(totalWeight);
+                out.writeInt(dispatched);
+                Checkpoint.writeLive(out, state, vruntime);
+                timeline.writeTo(out);
+            }
+
+            @Override
+            public void restore(DataInput in) throws IOException {
+                minVruntime = in.readLong();
+                totalWeight = in.readLong();
+                dispatched = in.readInt();
+                Checkpoint.readLive(in, state, vruntime);
+                timeline.readFrom(in);
+            }
+        };
+    }
+}
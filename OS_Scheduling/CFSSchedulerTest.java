@@ -0,0 +1,89 @@
+import org.example.*;
+import org.example.Process;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CFSSchedulerTest {
+
+    @Test
+    void cpuTimeIsSharedInProportionToWeight() {
+        // Nice 0 weighs 1024, nice 5 weighs 335: about three to one
+        List<Process> processes = List.of(
+                new Process("heavy", 0, 10_000, 0, 0),
+                new Process("light", 0, 10_000, 5, 0));
+
+        SchedulerResult result = new CFSScheduler(20, 1, 0).run(processes);
+
+        long[] ran = new long[2];
+        for (int run = 0; run < result.timeline.size(); run++) {
+            int start = result.timeline.start(run);
+            if (start < 4_000) {
+                ran[result.timeline.process(run)] += Math.min(result.timeline.end(run), 4_000) - start;
+            }
+        }
+        assertEquals(1024.0 / 335, (double) ran[0] / ran[1], 0.05);
+    }
+
+    @Test
+    void equalWeightsTakeTurnsWithinTheLatency() {
+        List<Process> processes = List.of(
+                new Process("A", 0, 12, 0, 0),
+                new Process("B", 0, 12, 0, 0),
+                new Process("C", 0, 12, 0, 0));
+
+        SchedulerResult result = new CFSScheduler(12, 1, 0).run(processes);
+
+        assertEquals(List.of("A", "B", "C", "A", "B", "C", "A", "B", "C"), result.executionOrder);
+        assertEquals(28, result.turnaroundTime.get("A"));
+        assertEquals(36, result.turnaroundTime.get("C"));
+    }
+
+    // Statistics over every job, plus the waiting of the jobs with a negative nice value
+    private static final class ByNice extends ScheduleStatistics {
+        final ScheduleStatistics favoured = new ScheduleStatistics();
+        private final ProcessTable table;
+
+        ByNice(ProcessTable table) {
+            super(1_000);
+            this.table = table;
+        }
+
+        @Override
+        public void onComplete(int process, int time, int turnaround, int waiting, int response) {
+            super.onComplete(process, time, turnaround, waiting, response);
+            if (table.priority[process] < 0) {
+                favoured.onComplete(process, time, turnaround, waiting, response);
+            }
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void largeTraceBeatsRoundRobinWhereNiceMatters() {
+        ProcessTable table = new ProcessTable();
+        new WorkloadGenerator(17).count(200_000).poisson(0.09).pareto(1.5, 4).priorities(-5, 5)
+                .forEachRemaining(p -> table.add(p.name, p.arrival, p.burst, p.priority, p.quantum));
+
+        ByNice cfs = new ByNice(table);
+        new CFSScheduler(24, 3, 0).run(table, cfs);
+        ByNice rr = new ByNice(table);
+        new RoundRobinScheduler(3, 0).run(table, rr);
+
+        assertEquals(table.size(), cfs.completed());
+        assertEquals(rr.makespan(), cfs.makespan());
+        // New jobs start at the minimum vruntime and run almost at once; RR queues them
+        // behind every job already waiting
+        assertTrue(cfs.response.p99() * 10 < rr.response.p99(),
+                "p99 response: CFS " + cfs.response.p99() + ", RR " + rr.response.p99());
+        assertTrue(cfs.waiting.mean() < rr.waiting.mean(),
+                "mean waiting: CFS " + cfs.waiting.mean() + ", RR " + rr.waiting.mean());
+        // RR ignores nice; CFS gives the favoured jobs their larger share. Jain's index over
+        // slowdowns is lower for CFS here by design, since nice exists to stretch some jobs more
+        assertTrue(cfs.favoured.waiting.mean() * 2 < rr.favoured.waiting.mean(),
+                "favoured mean waiting: CFS " + cfs.favoured.waiting.mean() + ", RR " + rr.favoured.waiting.mean());
+    }
+}
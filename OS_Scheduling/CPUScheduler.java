@@ -0,0 +1,104 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+// Base class of every scheduler: the run overloads and the simulation loop live here,
+// subclasses only supply the policy that makes the decisions. Runs neither modify the
+// processes nor keep per-run state in the scheduler, so one instance can serve many
+// threads at once.
+public abstract class CPUScheduler {
+
+    public SchedulerResult run(List<Process> processes) {
+        return run(ProcessTable.from(processes));
+    }
+
+    public SchedulerResult run(ProcessTable table) {
+        SchedulerResult result = new SchedulerResult(table);
+        run(table, result);
+        return result;
+    }
+
+    public void run(ProcessTable table, ScheduleListener listener) {
+        RunState state = new RunState(table.size());
+        Simulator.run(this, table, JobSource.of(table), state, newPolicy(table, state, listener), listener);
+    }
+
+    // Like run(table), saving a snapshot of the run to checkpoint every interval units of
+    // simulated time, and first resuming from the snapshot already there, if any. The result
+    // is that of an uninterrupted run; a snapshot of another scheduler, other settings or
+    // another workload is refused with an IOException.
+    public SchedulerResult run(ProcessTable table, Path checkpoint, int interval) throws IOException {
+        SchedulerResult result = new SchedulerResult(table);
+        RunState state = new RunState(table.size());
+        SchedulingPolicy policy = newPolicy(table, state, result);
+        Simulator.run(this, table, state, policy, result,
+                new Checkpoint(checkpoint, interval, this, table, policy, result));
+        return result;
+    }
+
+    // Streams jobs, in arrival order, through at most maxLive table slots: memory is
+    // bounded by the jobs in the system, not the length of the workload. Listener ids
+    // are positions in the stream.
+    public void run(Iterator<Process> jobs, int maxLive, ScheduleListener listener) {
+        JobStream stream = new JobStream(jobs, maxLive);
+        ProcessTable table = stream.table();
+        RunState state = new RunState(table.size());
+        Simulator.run(this, table, stream, state, newPolicy(table, state, listener), listener);
+    }
+
+    // A run that takes jobs as they come and reports completions as they happen; see OnlineRun
+    public OnlineRun online(int maxLive, ScheduleListener listener) {
+        return new OnlineRun(this, maxLive, listener);
+    }
+
+    // Multi-core run with one run queue per core; see MultiCore for the options
+    public MultiCore.Report run(ProcessTable table, MultiCore cores, ScheduleListener listener) {
+        return cores.run(this, table, listener);
+    }
+
+    // The same scheduler with every policy it makes passed through decorator, e.g. to trace
+    // its decisions or inject faults. It goes by this scheduler's toString().
+    public CPUScheduler decorated(UnaryOperator<SchedulingPolicy> decorator) {
+        CPUScheduler scheduler = this;
+        return new CPUScheduler() {
+            @Override
+            protected SchedulingPolicy newPolicy(ProcessTable table, RunState state, ScheduleListener listener) {
+                return decorator.apply(scheduler.newPolicy(table, state, listener));
+            }
+
+            @Override
+            protected SchedulingPolicy[] newPolicies(ProcessTable table, RunState state, ScheduleListener listener,
+                                                     int cores) {
+                SchedulingPolicy[] policies = scheduler.newPolicies(table, state, listener, cores);
+                for (int core = 0; core < cores; core++) {
+                    policies[core] = decorator.apply(policies[core]);
+                }
+                return policies;
+            }
+
+            @Override
+            public String toString() {
+                return scheduler.toString();
+            }
+        };
+    }
+
+    // Fresh ready-set state for one run over the table. Jobs are table rows, but a streamed
+    // run fills the rows only as jobs are admitted and reuses them once jobs complete.
+    protected abstract SchedulingPolicy newPolicy(ProcessTable table, RunState state, ScheduleListener listener);
+
+    // One ready set per core of a multi-core run. Cores share the run state, and a job is
+    // in at most one ready set at a time, so policies may share per-job arrays as well.
+    protected SchedulingPolicy[] newPolicies(ProcessTable table, RunState state, ScheduleListener listener,
+                                             int cores) {
+        SchedulingPolicy[] policies = new SchedulingPolicy[cores];
+        for (int core = 0; core < cores; core++) {
+            policies[core] = newPolicy(table, state, listener);
+        }
+        return policies;
+    }
+}
@@ -0,0 +1,167 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Snapshots of a table run on one CPU, taken every interval units of simulated time into
+// one file. Each snapshot is written beside it and moved into place, so a crash leaves the
+// previous one intact. It holds the simulator (clock, pending events, and the remaining
+// time and first run of the jobs still in play), every job's completion time, the
+// policy's ready set and the per-job state of the jobs in play, and the partial
+// SchedulerResult, gzip-compressed behind a header that names the scheduler and its
+// settings, as its toString() gives them, and holds the workload's digest.
+final class Checkpoint implements Simulator.Snapshots {
+
+    private static final int MAGIC = 0x4F53434B;
+    private static final int VERSION = 3;
+
+    private final Path file;
+    private final int interval;
+    private final String scheduler;
+    private final String settings;
+    private final byte[] digest;
+    private final SchedulingPolicy policy;
+    private final SchedulerResult result;
+
+    Checkpoint(Path file, int interval, CPUScheduler scheduler, ProcessTable table,
+               SchedulingPolicy policy, SchedulerResult result) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive: " + interval);
+        }
+        this.file = file;
+        this.interval = interval;
+        this.scheduler = scheduler.getClass().getName();
+        this.settings = scheduler.toString();
+        this.digest = table.digest();
+        this.policy = policy;
+        this.result = result;
+    }
+
+    // Restore the run from the file if there is one; false when starting afresh
+    boolean resume(Simulator simulator) throws IOException {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 1 << 16)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(file + " is not a checkpoint");
+            }
+            String savedScheduler = in.readUTF();
+            String savedSettings = in.readUTF();
+            byte[] savedDigest = new byte[digest.length];
+            in.readFully(savedDigest);
+            if (!savedScheduler.equals(scheduler) || !savedSettings.equals(settings)) {
+                throw new IOException(file + " is a checkpoint of another scheduler (" + savedSettings + ")");
+            }
+            if (!Arrays.equals(savedDigest, digest)) {
+                throw new IOException(file + " is a checkpoint of another workload");
+            }
+            simulator.restore(in);
+            simulator.restoreCompletions(in);
+            policy.restore(in);
+            result.readFrom(in);
+        }
+        return true;
+    }
+
+    @Override
+    public int next(int time) {
+        return (int) Math.min(Integer.MAX_VALUE, (time / interval + 1L) * interval);
+    }
+
+    @Override
+    public boolean save(Simulator simulator) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temp), 1 << 16)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(scheduler);
+                out.writeUTF(settings);
+                out.write(digest);
+                simulator.save(out);
+                simulator.saveCompletions(out);
+                policy.save(out);
+                result.writeTo(out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+    static void writeInts(DataOutput out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    // A snapshot of a run over fewer jobs fills the front; the rest stays as it was
+    static void readInts(DataInput in, int[] values) throws IOException {
+        int length = in.readInt();
+        if (length > values.length) {
+            throw new IOException("Checkpoint does not fit the run");
+        }
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readInt();
+        }
+    }
+
+    // One value per live job, in the order the simulator saved them
+    static void writeLive(DataOutput out, RunState state, int[] values) throws IOException {
+        for (int job = state.firstLive(); job != -1; job = state.nextLive(job)) {
+            out.writeInt(values[job]);
+        }
+    }
+
+    static void readLive(DataInput in, RunState state, int[] values) throws IOException {
+        for (int job = state.firstLive(); job != -1; job = state.nextLive(job)) {
+            values[job] = in.readInt();
+        }
+    }
+
+    static void writeLive(DataOutput out, RunState state, long[] values) throws IOException {
+        for (int job = state.firstLive(); job != -1; job = state.nextLive(job)) {
+            out.writeLong(values[job]);
+        }
+    }
+
+    static void readLive(DataInput in, RunState state, long[] values) throws IOException {
+        for (int job = state.firstLive(); job != -1; job = state.nextLive(job)) {
+            values[job] = in.readLong();
+        }
+    }
+
+    static void writeLongs(DataOutput out, long[] values) throws IOException {
+        out.writeInt(values.length);
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    static void readLongs(DataInput in, long[] values) throws IOException {
+        int length = in.readInt();
+        if (length > values.length) {
+            throw new IOException("Checkpoint does not fit the run");
+        }
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readLong();
+        }
+    }
+}
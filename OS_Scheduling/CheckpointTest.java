@@ -0,0 +1,142 @@
+import org.example.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CheckpointTest {
+
+    // Dispatches left before the run dies; negative never
+    private static int budget = -1;
+
+    private static final class Crash extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static SchedulingPolicy crashing(SchedulingPolicy policy) {
+        return new SchedulingPolicy() {
+            @Override
+            public void admit(int job, int time) {
+                policy.admit(job, time);
+            }
+
+            @Override
+            public int select(int time) {
+                if (budget == 0) {
+                    throw new Crash();
+                }
+                budget--;
+                return policy.select(time);
+            }
+
+            @Override
+            public int slice(int job, int time) {
+                return policy.slice(job, time);
+            }
+
+            @Override
+            public boolean preemptsOnArrival(int job, int time) {
+                return policy.preemptsOnArrival(job, time);
+            }
+
+            @Override
+            public int nextCheck(int job, int time) {
+                return policy.nextCheck(job, time);
+            }
+
+            @Override
+            public boolean preempt(int job, int time) {
+                return policy.preempt(job, time);
+            }
+
+            @Override
+            public int readyCount() {
+                return policy.readyCount();
+            }
+
+            @Override
+            public int release(int job, Release reason, int time, boolean workRemains) {
+                return policy.release(job, reason, time, workRemains);
+            }
+
+            @Override
+            public void save(java.io.DataOutput out) throws IOException {
+                policy.save(out);
+            }
+
+            @Override
+            public void restore(java.io.DataInput in) throws IOException {
+                policy.restore(in);
+            }
+        };
+    }
+
+    private static ProcessTable workload(long seed) {
+        return Fixtures.table(Fixtures.workload(seed).count(300));
+    }
+
+    @Test
+    void resumedRunsMatchUninterruptedOnes() throws IOException {
+        Path dir = Files.createTempDirectory("checkpoint");
+        for (long seed = 1; seed <= 3; seed++) {
+            ProcessTable table = workload(seed);
+            for (CPUScheduler scheduler : Fixtures.schedulers(CheckpointTest::crashing)) {
+                budget = -1;
+                SchedulerResult expected = scheduler.run(table);
+
+                Path file = dir.resolve("run-" + seed);
+                Files.deleteIfExists(file);
+                // Dies several times along the way, each time picking up from the last snapshot
+                for (int crashes = 0; ; crashes++) {
+                    budget = 150;
+                    try {
+                        SchedulerResult actual = scheduler.run(table, file, 25);
+                        assertTrue(crashes > 0);
+                        Fixtures.assertSameResult(expected, actual, scheduler.toString());
+                        break;
+                    } catch (Crash e) {
+                        assertTrue(Files.exists(file));
+                    }
+                }
+            }
+        }
+        budget = -1;
+    }
+
+    @Test
+    void refusesAnotherRunsCheckpoint() throws IOException {
+        Path dir = Files.createTempDirectory("checkpoint");
+        Path file = dir.resolve("run");
+        new RoundRobinScheduler(3, 1).run(workload(1), file, 25);
+
+        assertThrows(IOException.class, () -> new RoundRobinScheduler(3, 1).run(workload(2), file, 25));
+        assertThrows(IOException.class, () -> new CFSScheduler(12, 2, 1).run(workload(1), file, 25));
+    }
+
+    @Test
+    void refusesCheckpointOfOtherSettings() throws IOException {
+        Path dir = Files.createTempDirectory("checkpoint");
+        Path file = dir.resolve("run");
+        new RoundRobinScheduler(5, 1).run(workload(1), file, 25);
+
+        assertThrows(IOException.class, () -> new RoundRobinScheduler(3, 1).run(workload(1), file, 25));
+        assertThrows(IOException.class, () -> new RoundRobinScheduler(5, 2).run(workload(1), file, 25));
+        Fixtures.assertSameResult(new RoundRobinScheduler(5, 1).run(workload(1)),
+                new RoundRobinScheduler(5, 1).run(workload(1), file, 25));
+    }
+
+    @Test
+    void leavesNoTemporaryFileBehind() throws IOException {
+        Path dir = Files.createTempDirectory("checkpoint");
+        Path file = dir.resolve("run");
+        SchedulerResult resumed = new ShortestJobFirstScheduler(1).run(workload(3), file, 10);
+        Fixtures.assertSameResult(new ShortestJobFirstScheduler(1).run(workload(3)), resumed);
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+}
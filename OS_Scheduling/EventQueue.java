@@ -0,0 +1,105 @@
+package org.example;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+// Min-heap of simulation events packed into longs: time, then kind, then the CPU the
+// event belongs to. Events falling on the same time pop in kind order.
+public class EventQueue {
+
+    private long[] heap = new long[16];
+    private int size;
+    private long operations;
+
+    public static long event(int time, int kind, int cpu) {
+        return ((long) time << 32) | ((long) kind << 24) | cpu;
+    }
+
+    public static int time(long event) {
+        return (int) (event >> 32);
+    }
+
+    public static int kind(long event) {
+        return (int) (event >>> 24) & 0xFF;
+    }
+
+    public static int cpu(long event) {
+        return (int) event & 0xFFFFFF;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Adds and polls so far
+    public long operations() {
+        return operations;
+    }
+
+    public void add(int time, int kind, int cpu) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        long event = event(time, kind, cpu);
+        operations++;
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= event) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = event;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeLong(heap[i]);
+        }
+    }
+
+    void readFrom(DataInput in) throws IOException {
+        size = in.readInt();
+        heap = new long[Math.max(16, size)];
+        for (int i = 0; i < size; i++) {
+            heap[i] = in.readLong();
+        }
+    }
+
+    // Earliest event, left in the queue; only valid while not empty
+    public long peek() {
+        return heap[0];
+    }
+
+    public long poll() {
+        operations++;
+        long top = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (size > 0) {
+            heap[i] = last;
+        }
+        return top;
+    }
+}
@@ -0,0 +1,77 @@
+import org.example.*;
+import org.example.Process;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Engines, workloads and the result comparison shared by the tests that check one way of
+// running a schedule (checkpointed, incremental, cached, multi-core, online) against a
+// plain run.
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    // One of each engine
+    static CPUScheduler[] schedulers() {
+        return new CPUScheduler[]{
+                new RoundRobinScheduler(3, 1),
+                new ShortestJobFirstScheduler(1),
+                new AGScheduler(),
+                new PriorityScheduler(1, 4),
+                new MLFQScheduler(new int[]{2, 4, 8}, 40, 1),
+                new CFSScheduler(12, 2, 1)};
+    }
+
+    // The same engines with every policy passed through wrap. Each call returns decorators
+    // of the same class with the same settings, so a checkpoint written under one call
+    // resumes under the next.
+    static CPUScheduler[] schedulers(UnaryOperator<SchedulingPolicy> wrap) {
+        CPUScheduler[] schedulers = schedulers();
+        for (int i = 0; i < schedulers.length; i++) {
+            schedulers[i] = schedulers[i].decorated(wrap);
+        }
+        return schedulers;
+    }
+
+    // Bursts of arrivals between quiet gaps, so runs have both deep queues and idle time.
+    // Callers set the count and may swap the arrival or burst distribution.
+    static WorkloadGenerator workload(long seed) {
+        return new WorkloadGenerator(seed).bursty(0.5, 0.02, 10, 60).exponential(6).priorities(1, 8).quanta(2, 5);
+    }
+
+    static List<Process> jobs(WorkloadGenerator workload) {
+        List<Process> jobs = new ArrayList<>();
+        workload.forEachRemaining(jobs::add);
+        return jobs;
+    }
+
+    static ProcessTable table(WorkloadGenerator workload) {
+        return ProcessTable.from(jobs(workload));
+    }
+
+    static void assertSameResult(SchedulerResult expected, SchedulerResult actual) {
+        assertSameResult(expected, actual, "");
+    }
+
+    static void assertSameResult(SchedulerResult expected, SchedulerResult actual, String where) {
+        assertEquals(expected.executionOrder, actual.executionOrder, where);
+        assertEquals(expected.waitingTime, actual.waitingTime, where);
+        assertEquals(expected.turnaroundTime, actual.turnaroundTime, where);
+        assertEquals(expected.quantumHistory, actual.quantumHistory, where);
+        assertArrayEquals(expected.response, actual.response, where);
+        assertEquals(expected.averageWaitingTime, actual.averageWaitingTime, 1e-9, where);
+        assertEquals(expected.averageTurnaroundTime, actual.averageTurnaroundTime, 1e-9, where);
+        assertEquals(expected.timeline.size(), actual.timeline.size(), where);
+        for (int run = 0; run < expected.timeline.size(); run++) {
+            assertEquals(expected.timeline.process(run), actual.timeline.process(run), where);
+            assertEquals(expected.timeline.start(run), actual.timeline.start(run), where);
+            assertEquals(expected.timeline.end(run), actual.timeline.end(run), where);
+            assertEquals(expected.timeline.slices(run), actual.timeline.slices(run), where);
+        }
+        assertEquals(expected.timeline.dispatchCount(), actual.timeline.dispatchCount(), where);
+    }
+}
@@ -0,0 +1,391 @@
+package org.example;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+// A table run on one CPU kept for what-if edits: change or add a job and only the part of
+// the schedule it can affect is simulated again.
+//
+//   IncrementalRun run = new IncrementalRun(new RoundRobinScheduler(4, 1), table, 1_000);
+//   run.set(id, "P7", 5_200, 30, 2, 4);   // re-simulates from the snapshot before t=5200
+//   SchedulerResult result = run.result();
+//
+// The run keeps one log of everything it reported, cut into a segment at each in-memory
+// snapshot, and the snapshots hold only the jobs in play then. One is taken every interval
+// units of simulated time, skipping those that would outweigh the log written since the
+// last, so however many jobs wait, snapshots take no more memory than the log. Nothing
+// before an edited job's arrival depends on it, so the new run
+// resumes from the last snapshot taken before the old run had looked at that job. Once
+// the new run reaches a snapshot in the very state the old run was in there, with the
+// edited job done, the rest of the old log is carried over rather than simulated. An added
+// job widens the state, so a run after add() goes to the end; adding a job that arrives
+// last only simulates the tail. Results are those of a run from scratch over the edited
+// table.
+public class IncrementalRun {
+
+    private final CPUScheduler scheduler;
+    private final ProcessTable table;
+    private final int interval;
+
+    // In time order
+    private List<Snapshot> snapshots = new ArrayList<>();
+    // What the run reported, from the start; segment i ends where snapshot i was taken
+    private List<int[]> log = new ArrayList<>();
+    private SchedulerResult result;
+
+    // Where the last simulation started and rejoined the previous one, or -1
+    private int resumedAt = -1;
+    private int rejoinedAt = -1;
+
+    public IncrementalRun(CPUScheduler scheduler, ProcessTable table, int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be positive: " + interval);
+        }
+        this.scheduler = scheduler;
+        this.interval = interval;
+        this.table = new ProcessTable(table.size());
+        for (int id = 0; id < table.size(); id++) {
+            this.table.add(table.name[id], table.arrival[id], table.burst[id], table.priority[id],
+                    table.quantum[id]);
+        }
+        simulate(0, new int[0]);
+    }
+
+    public SchedulerResult result() {
+        return result;
+    }
+
+    // Time the last simulation resumed from, or -1 if it started from scratch
+    public int resumedAt() {
+        return resumedAt;
+    }
+
+    // Time the last simulation rejoined the run before it, or -1 if it ran to the end
+    public int rejoinedAt() {
+        return rejoinedAt;
+    }
+
+    public void set(int id, String name, int arrival, int burst, int priority, int quantum) {
+        Objects.checkIndex(id, table.size());
+        int from = Math.min(table.arrival[id], arrival);
+        table.set(id, name, arrival, burst, priority, quantum);
+        rerun(from, id);
+    }
+
+    public int add(String name, int arrival, int burst, int priority, int quantum) {
+        int id = table.add(name, arrival, burst, priority, quantum);
+        rerun(arrival, id);
+        return id;
+    }
+
+    // The snapshots before the run first looked at a job arriving from then on still hold
+    private void rerun(int arrival, int... edited) {
+        int keep = snapshots.size();
+        while (keep > 0 && snapshots.get(keep - 1).nextArrival >= arrival) {
+            keep--;
+        }
+        simulate(keep, edited);
+    }
+
+    // Simulate on from the last of the first keep snapshots, or from the start
+    private void simulate(int keep, int[] edited) {
+        Snapshot from = keep == 0 ? null : snapshots.get(keep - 1);
+        List<Snapshot> previous = snapshots.subList(keep, snapshots.size());
+        int resume = from == null ? 0 : from.segment;
+
+        // Segments from the resumed point on; the old log stays whole until the new one is built
+        List<int[]> segments = new ArrayList<>();
+        EventLog tail = new EventLog(1 << 10);
+        RunState state = new RunState(table.size());
+        SchedulingPolicy policy = scheduler.newPolicy(table, state, tail);
+        Simulator simulator = Simulator.start(scheduler, table, JobSource.of(table), state, policy, tail);
+        if (from != null) {
+            try {
+                DataInputStream live = new DataInputStream(new BytesIn(from.live));
+                simulator.restore(live);
+                policy.restore(live);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // Positions of the edited jobs in arrival order, to tell when they have been admitted
+        int[] order = table.arrivalOrder();
+        int[] positions = new int[edited.length];
+        for (int position = 0; position < order.length; position++) {
+            for (int i = 0; i < edited.length; i++) {
+                if (order[position] == edited[i]) {
+                    positions[i] = position;
+                }
+            }
+        }
+
+        List<Snapshot> taken = new ArrayList<>(snapshots.subList(0, keep));
+        int[] rejoined = {-1};
+        simulator.advance(new Simulator.Snapshots() {
+            private int cursor;
+
+            @Override
+            public int next(int time) {
+                return (int) Math.min(Integer.MAX_VALUE, (time / interval + 1L) * interval);
+            }
+
+            @Override
+            public boolean save(Simulator simulator) {
+                while (cursor < previous.size() && previous.get(cursor).clock < simulator.clock()) {
+                    cursor++;
+                }
+                boolean comparable = cursor < previous.size() && previous.get(cursor).clock == simulator.clock();
+                Snapshot last = taken.isEmpty() ? null : taken.get(taken.size() - 1);
+                // A snapshot is taken once the log has grown by at least the size of the last
+                // one, so however many jobs are in play, snapshots never outweigh the log
+                if (!comparable && last != null && tail.size() * 4L < last.live.length) {
+                    return true;
+                }
+                segments.add(tail.cut());
+                Snapshot snapshot = new Snapshot(simulator, policy, resume + segments.size(),
+                        last == null ? 256 : last.live.length);
+                taken.add(snapshot);
+                if (comparable && previous.get(cursor).sameState(snapshot) && done(simulator)) {
+                    rejoined[0] = cursor;
+                    return false;
+                }
+                return true;
+            }
+
+            private boolean done(Simulator simulator) {
+                for (int i = 0; i < edited.length; i++) {
+                    if (positions[i] >= simulator.admitted() || state.completion[edited[i]] == -1) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        });
+
+        // The old log up to the resumed point, then the new events, then, having rejoined,
+        // whatever the old run did from the same state on
+        List<int[]> next = new ArrayList<>(log.subList(0, resume));
+        next.addAll(segments);
+        resumedAt = from == null ? -1 : from.clock;
+        rejoinedAt = -1;
+        if (rejoined[0] != -1) {
+            Snapshot then = previous.get(rejoined[0]);
+            int shift = next.size() - then.segment;
+            next.addAll(log.subList(then.segment, log.size()));
+            for (Snapshot later : previous.subList(rejoined[0] + 1, previous.size())) {
+                taken.add(later.moved(shift));
+            }
+            rejoinedAt = then.clock;
+        } else {
+            next.add(tail.cut());
+        }
+        log = next;
+        snapshots = taken;
+        result = new SchedulerResult(table);
+        for (int[] segment : log) {
+            EventLog.replay(segment, result);
+        }
+    }
+
+    // The run between two events: the simulator and the policy, which decide the rest of
+    // it, and the log segment that starts there
+    private static final class Snapshot {
+        final int clock;
+        final int nextArrival;
+        final byte[] live;
+        final int segment;
+        // Of live, once first compared
+        private int hash;
+        private boolean hashed;
+
+        Snapshot(Simulator simulator, SchedulingPolicy policy, int segment, int expectedSize) {
+            this.clock = simulator.clock();
+            this.nextArrival = simulator.nextArrival();
+            BytesOut bytes = new BytesOut(expectedSize);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                simulator.save(out);
+                policy.save(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.live = bytes.toByteArray();
+            this.segment = segment;
+        }
+
+        private Snapshot(Snapshot moved, int segment) {
+            this.clock = moved.clock;
+            this.nextArrival = moved.nextArrival;
+            this.live = moved.live;
+            this.segment = segment;
+            this.hash = moved.hash;
+            this.hashed = moved.hashed;
+        }
+
+        Snapshot moved(int shift) {
+            return new Snapshot(this, segment + shift);
+        }
+
+        private int hash() {
+            if (!hashed) {
+                hash = Arrays.hashCode(live);
+                hashed = true;
+            }
+            return hash;
+        }
+
+        // The hash settles most mismatches before the bytes are compared
+        boolean sameState(Snapshot other) {
+            return clock == other.clock && live.length == other.live.length && hash() == other.hash()
+                    && Arrays.equals(live, other.live);
+        }
+    }
+
+    // ByteArrayOutputStream and ByteArrayInputStream without their locks, which dominate
+    // when DataOutputStream moves a snapshot one byte at a time
+    private static final class BytesOut extends OutputStream {
+        private byte[] bytes;
+        private int size;
+
+        BytesOut(int capacity) {
+            bytes = new byte[Math.max(capacity, 16)];
+        }
+
+        @Override
+        public void write(int b) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size * 2);
+            }
+            bytes[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (size + len > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(size + len, bytes.length * 2));
+            }
+            System.arraycopy(b, off, bytes, size, len);
+            size += len;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    private static final class BytesIn extends InputStream {
+        private final byte[] bytes;
+        private int position;
+
+        BytesIn(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read() {
+            return position < bytes.length ? bytes[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position == bytes.length) {
+                return len == 0 ? 0 : -1;
+            }
+            int n = Math.min(len, bytes.length - position);
+            System.arraycopy(bytes, position, b, off, n);
+            position += n;
+            return n;
+        }
+    }
+
+    // What a run reported to a SchedulerResult, packed into ints: a tag, then the arguments.
+    // Cut into a segment at each snapshot
+    private static final class EventLog implements ScheduleListener {
+        private static final int DISPATCH = 0;
+        private static final int PREEMPT = 1;
+        private static final int COMPLETE = 2;
+        private static final int QUANTUM = 3;
+
+        private int[] entries;
+        private int size;
+
+        EventLog(int capacity) {
+            entries = new int[Math.max(capacity, 16)];
+        }
+
+        int size() {
+            return size;
+        }
+
+        @Override
+        public void onDispatch(int process, int time) {
+            put(DISPATCH, process, time);
+        }
+
+        @Override
+        public void onPreempt(int process, int time) {
+            put(PREEMPT, process, time);
+        }
+
+        @Override
+        public void onComplete(int process, int time, int turnaround, int waiting, int response) {
+            reserve(6);
+            entries[size++] = COMPLETE;
+            entries[size++] = process;
+            entries[size++] = time;
+            entries[size++] = turnaround;
+            entries[size++] = waiting;
+            entries[size++] = response;
+        }
+
+        @Override
+        public void onQuantumUpdate(int process, int quantum) {
+            put(QUANTUM, process, quantum);
+        }
+
+        private void put(int tag, int a, int b) {
+            reserve(3);
+            entries[size++] = tag;
+            entries[size++] = a;
+            entries[size++] = b;
+        }
+
+        private void reserve(int n) {
+            if (size + n > entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(size + n, entries.length * 2));
+            }
+        }
+
+        // What was reported since the last cut
+        int[] cut() {
+            int[] segment = Arrays.copyOf(entries, size);
+            size = 0;
+            return segment;
+        }
+
+        static void replay(int[] entries, ScheduleListener listener) {
+            int i = 0;
+            while (i < entries.length) {
+                switch (entries[i]) {
+                    case DISPATCH -> listener.onDispatch(entries[i + 1], entries[i + 2]);
+                    case PREEMPT -> listener.onPreempt(entries[i + 1], entries[i + 2]);
+                    case QUANTUM -> listener.onQuantumUpdate(entries[i + 1], entries[i + 2]);
+                    default -> {
+                        listener.onComplete(entries[i + 1], entries[i + 2], entries[i + 3], entries[i + 4],
+                                entries[i + 5]);
+                        i += 3;
+                    }
+                }
+                i += 3;
+            }
+        }
+    }
+}
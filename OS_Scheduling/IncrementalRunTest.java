@@ -0,0 +1,115 @@
+import org.example.*;
+import org.example.Process;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalRunTest {
+
+    @Test
+    void editsMatchRunsFromScratch() {
+        for (long seed = 1; seed <= 4; seed++) {
+            for (CPUScheduler scheduler : Fixtures.schedulers()) {
+                List<Process> jobs = Fixtures.jobs(Fixtures.workload(seed).count(200));
+                IncrementalRun run = new IncrementalRun(scheduler, ProcessTable.from(jobs), 20);
+                Fixtures.assertSameResult(scheduler.run(ProcessTable.from(jobs)), run.result());
+
+                Random random = new Random(seed);
+                for (int edit = 0; edit < 12; edit++) {
+                    int id = random.nextInt(jobs.size());
+                    Process old = jobs.get(id);
+                    Process p = new Process(old.name, Math.max(0, old.arrival + random.nextInt(21) - 10),
+                            1 + random.nextInt(12), old.priority, old.quantum);
+                    jobs.set(id, p);
+                    run.set(id, p.name, p.arrival, p.burst, p.priority, p.quantum);
+                    Fixtures.assertSameResult(scheduler.run(ProcessTable.from(jobs)), run.result());
+                }
+            }
+        }
+    }
+
+    @Test
+    void addedJobsMatchRunsFromScratch() {
+        for (CPUScheduler scheduler : Fixtures.schedulers()) {
+            List<Process> jobs = Fixtures.jobs(Fixtures.workload(7).count(200));
+            IncrementalRun run = new IncrementalRun(scheduler, ProcessTable.from(jobs), 20);
+            int last = jobs.get(jobs.size() - 1).arrival;
+            for (int i = 0; i < 5; i++) {
+                Process p = new Process("N" + i, last / 5 * i + 3, 4, 2, 3);
+                jobs.add(p);
+                assertEquals(jobs.size() - 1, run.add(p.name, p.arrival, p.burst, p.priority, p.quantum));
+                Fixtures.assertSameResult(scheduler.run(ProcessTable.from(jobs)), run.result());
+            }
+        }
+    }
+
+    @Test
+    void reusesTheScheduleAroundAnEdit() {
+        // Two busy periods far apart: an edit in the first one never reaches the second
+        List<Process> jobs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            jobs.add(new Process("A" + i, 100 + i, 5, 0, 2));
+        }
+        for (int i = 0; i < 10; i++) {
+            jobs.add(new Process("B" + i, 1_000 + i, 5, 0, 2));
+        }
+        CPUScheduler scheduler = new RoundRobinScheduler(2, 1);
+        IncrementalRun run = new IncrementalRun(scheduler, ProcessTable.from(jobs), 50);
+
+        jobs.set(3, new Process("A3", 103, 9, 0, 2));
+        run.set(3, "A3", 103, 9, 0, 2);
+        Fixtures.assertSameResult(scheduler.run(ProcessTable.from(jobs)), run.result());
+        assertTrue(run.resumedAt() >= 0 && run.resumedAt() < 103);
+        // Rejoined on waking for the second period, the first event after the gap
+        assertEquals(1_000, run.rejoinedAt());
+
+        // A job after all the others resumes late and runs to the end
+        run.add("C", 2_000, 5, 0, 2);
+        jobs.add(new Process("C", 2_000, 5, 0, 2));
+        Fixtures.assertSameResult(scheduler.run(ProcessTable.from(jobs)), run.result());
+        assertTrue(run.resumedAt() >= 1_000);
+        assertEquals(-1, run.rejoinedAt());
+    }
+
+    @Test
+    void editCostsLessThanARerun() {
+        // Light enough load that the queue drains between busy periods, so an edit rejoins
+        List<Process> jobs = Fixtures.jobs(new WorkloadGenerator(3).count(20_000).poisson(0.05));
+        CPUScheduler scheduler = new RoundRobinScheduler(4, 1);
+        IncrementalRun run = new IncrementalRun(scheduler, ProcessTable.from(jobs), 1_000);
+        List<Process> original = new ArrayList<>(jobs);
+
+        Random random = new Random(1);
+        long edits = 0;
+        long reruns = 0;
+        for (int round = 0; round < 100; round++) {
+            int id = random.nextInt(jobs.size());
+            Process p = original.get(id);
+            int burst = round % 2 == 0 ? p.burst + 3 : p.burst;
+            long start = System.nanoTime();
+            run.set(id, p.name, p.arrival, burst, p.priority, p.quantum);
+            SchedulerResult edited = run.result();
+            long edit = System.nanoTime() - start;
+            assertNotEquals(-1, run.rejoinedAt());
+
+            jobs.set(id, new Process(p.name, p.arrival, burst, p.priority, p.quantum));
+            ProcessTable table = ProcessTable.from(jobs);
+            start = System.nanoTime();
+            SchedulerResult rerun = scheduler.run(table);
+            long full = System.nanoTime() - start;
+            // The first rounds warm both paths up
+            if (round >= 40) {
+                edits += edit;
+                reruns += full;
+            }
+            if (round == 99) {
+                Fixtures.assertSameResult(rerun, edited);
+            }
+        }
+        assertTrue(edits < reruns, "edits took " + edits / 1_000_000 + " ms, reruns " + reruns / 1_000_000 + " ms");
+    }
+}
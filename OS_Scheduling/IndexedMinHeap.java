@@ -0,0 +1,161 @@
+package org.example;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+// Binary min-heap of int ids (0 .. capacity-1) that remembers the slot of every id,
+// so an entry whose key changed can be re-sifted, or removed, in O(log n).
+public class IndexedMinHeap {
+
+    private int[] heap;
+    private final int[] pos;
+    private final IntBinaryOperator order;
+    private int size;
+    private long operations;
+
+    public IndexedMinHeap(int capacity, IntBinaryOperator order) {
+        this.heap = new int[capacity];
+        this.pos = new int[capacity];
+        this.order = order;
+        Arrays.fill(pos, -1);
+    }
+
+    // A heap over the same ids as other heaps sharing pos, e.g. one ready queue per core:
+    // an id may be in only one of them at a time. pos must start out all -1; the heap
+    // itself starts small and grows as needed.
+    public IndexedMinHeap(int[] pos, IntBinaryOperator order) {
+        this.heap = new int[16];
+        this.pos = pos;
+        this.order = order;
+    }
+
+    // A position table for heaps built with IndexedMinHeap(pos, order)
+    public static int[] positions(int capacity) {
+        int[] pos = new int[capacity];
+        Arrays.fill(pos, -1);
+        return pos;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int id) {
+        return pos[id] >= 0;
+    }
+
+    // Adds, removals (polls among them) and updates so far
+    public long operations() {
+        return operations;
+    }
+
+    public void add(int id) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        heap[size] = id;
+        pos[id] = size;
+        operations++;
+        siftUp(size++);
+    }
+
+    // Smallest id according to the order, or -1 when empty
+    public int peek() {
+        return size == 0 ? -1 : heap[0];
+    }
+
+    public int poll() {
+        if (size == 0) {
+            return -1;
+        }
+        int top = heap[0];
+        remove(top);
+        return top;
+    }
+
+    public void remove(int id) {
+        int i = pos[id];
+        if (i < 0) {
+            return;
+        }
+        int last = heap[--size];
+        pos[id] = -1;
+        operations++;
+        if (i < size) {
+            heap[i] = last;
+            pos[last] = i;
+            siftDown(i);
+            siftUp(pos[last]);
+        }
+    }
+
+    // Restore heap order after the key of id changed in either direction
+    public void update(int id) {
+        int i = pos[id];
+        if (i >= 0) {
+            operations++;
+            siftUp(i);
+            siftDown(pos[id]);
+        }
+    }
+
+    // The heap array, for a checkpoint. Added back in this order every id lands in the
+    // slot it had, so the restored heap breaks ties exactly as the saved one would.
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(heap[i]);
+        }
+    }
+
+    // Keys the order reads must already be restored
+    void readFrom(DataInput in) throws IOException {
+        while (size > 0) {
+            pos[heap[--size]] = -1;
+        }
+        for (int n = in.readInt(); n > 0; n--) {
+            add(in.readInt());
+        }
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (order.applyAsInt(id, heap[parent]) >= 0) {
+                break;
+            }
+            heap[i] = heap[parent];
+            pos[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && order.applyAsInt(heap[child + 1], heap[child]) < 0) {
+                child++;
+            }
+            if (order.applyAsInt(heap[child], id) >= 0) {
+                break;
+            }
+            heap[i] = heap[child];
+            pos[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+}
@@ -0,0 +1,88 @@
+package org.example;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Growable ring buffer of ints, a FIFO ready queue without boxing
+public class IntQueue {
+
+    private int[] items;
+    private int head;
+    private int size;
+
+    public IntQueue() {
+        this(16);
+    }
+
+    public IntQueue(int capacity) {
+        items = new int[Math.max(capacity, 1)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(int value) {
+        if (size == items.length) {
+            grow();
+        }
+        items[(head + size++) % items.length] = value;
+    }
+
+    public int peek() {
+        return size == 0 ? -1 : items[head];
+    }
+
+    public int poll() {
+        if (size == 0) {
+            return -1;
+        }
+        int value = items[head];
+        head = (head + 1) % items.length;
+        size--;
+        return value;
+    }
+
+    // Remove from the tail, i.e. the most recently added value
+    public int pollLast() {
+        if (size == 0) {
+            return -1;
+        }
+        size--;
+        return items[(head + size) % items.length];
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    // Values in queue order, for a checkpoint
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(items[(head + i) % items.length]);
+        }
+    }
+
+    void readFrom(DataInput in) throws IOException {
+        clear();
+        for (int n = in.readInt(); n > 0; n--) {
+            add(in.readInt());
+        }
+    }
+
+    private void grow() {
+        int[] bigger = new int[items.length * 2];
+        for (int i = 0; i < size; i++) {
+            bigger[i] = items[(head + i) % items.length];
+        }
+        items = bigger;
+        head = 0;
+    }
+}
@@ -0,0 +1,27 @@
+package org.example;
+
+public class Interval {
+    public final int process;
+    private int start;
+    private int end;
+
+    public Interval(int process) {
+        this.process = process;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public void setStart(int start) {
+        this.start = start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    public void setEnd(int end) {
+        this.end = end;
+    }
+}
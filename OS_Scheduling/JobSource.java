@@ -0,0 +1,56 @@
+package org.example;
+
+// Feeds a run its jobs in arrival order. An admitted job occupies a slot, i.e. a row of
+// the ProcessTable the run works on, until it completes.
+public interface JobSource {
+
+    boolean hasNext();
+
+    // Arrival time of the next job; only valid while hasNext()
+    int nextArrival();
+
+    // Take the next job and return its slot
+    int admit();
+
+    // Id reported to listeners for the job in this slot
+    int id(int slot);
+
+    // The job in this slot completed; the slot may be reused
+    default void release(int slot) {
+    }
+
+    // Whether the answers a run may ask for at this time are final: every job arriving up
+    // to then is known, and so is the one after it, or that there is none. A source that
+    // learns of jobs as it goes says false until then and the run waits for it.
+    default boolean settled(int time) {
+        return true;
+    }
+
+    // Every row of the table is one job, admitted in arrival order; ids are the rows
+    static JobSource of(ProcessTable table) {
+        int[] order = table.arrivalOrder();
+        return new JobSource() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < order.length;
+            }
+
+            @Override
+            public int nextArrival() {
+                return table.arrival[order[next]];
+            }
+
+            @Override
+            public int admit() {
+                return order[next++];
+            }
+
+            @Override
+            public int id(int slot) {
+                return slot;
+            }
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package org.example;
+
+import java.util.Iterator;
+
+// Lazily admits jobs from an iterator into a fixed number of recycled table slots, so a
+// run only ever holds the jobs currently in the system. Listener ids are the jobs'
+// positions in the stream. A stream is consumed by the run that reads it.
+public class JobStream implements JobSource {
+
+    private final Iterator<Process> jobs;
+    private final ProcessTable slots;
+    private final int[] ids;
+    private final int[] free;
+    private int freeCount;
+    private Process pending;
+    private int admitted;
+    private int lastArrival = Integer.MIN_VALUE;
+
+    public JobStream(Iterator<Process> jobs, int maxLive) {
+        this.jobs = jobs;
+        this.slots = new ProcessTable(maxLive);
+        this.ids = new int[maxLive];
+        this.free = new int[maxLive];
+        for (int slot = maxLive - 1; slot >= 0; slot--) {
+            slots.add("", 0, 0, 0, 0);
+            free[freeCount++] = slot;
+        }
+        this.pending = jobs.hasNext() ? jobs.next() : null;
+    }
+
+    // The table whose rows are the slots
+    public ProcessTable table() {
+        return slots;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return pending != null;
+    }
+
+    @Override
+    public int nextArrival() {
+        return pending.arrival;
+    }
+
+    @Override
+    public int admit() {
+        Process p = pending;
+        if (p.arrival < lastArrival) {
+            throw new IllegalArgumentException("Job " + p.name + " arrives at " + p.arrival
+                    + ", before the previous job at " + lastArrival);
+        }
+        if (freeCount == 0) {
+            throw new IllegalStateException("More than " + free.length + " jobs in the system at once");
+        }
+        lastArrival = p.arrival;
+
+        int slot = free[--freeCount];
+        slots.set(slot, p.name, p.arrival, p.burst, p.priority, p.quantum);
+        ids[slot] = admitted++;
+        pending = jobs.hasNext() ? jobs.next() : null;
+        return slot;
+    }
+
+    @Override
+    public int id(int slot) {
+        return ids[slot];
+    }
+
+    @Override
+    public void release(int slot) {
+        free[freeCount++] = slot;
+    }
+}
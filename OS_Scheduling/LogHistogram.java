@@ -0,0 +1,84 @@
+package org.example;
+
+// Log-bucketed histogram of non-negative ints in the style of HdrHistogram. Values below
+// 2^PRECISION get a bucket each; above that every power of two is split into
+// 2^(PRECISION-1) equal buckets, so a bucket is never wider than 1/128 of its values
+// and percentiles are within 0.8% of exact. Memory is a fixed 3200 counters.
+public class LogHistogram {
+
+    private static final int PRECISION = 8;
+    private static final int HALF = 1 << (PRECISION - 1);
+    private static final int BUCKETS = (33 - PRECISION) * HALF;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+
+    public void record(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        counts[bucket(value)]++;
+        total++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public long count() {
+        return total;
+    }
+
+    public int min() {
+        return total == 0 ? 0 : min;
+    }
+
+    public int max() {
+        return total == 0 ? 0 : max;
+    }
+
+    // Smallest recorded value v (to bucket precision) with at least p percent of values <= v
+    public int percentile(double p) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p / 100 * total));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, highest(b)));
+            }
+        }
+        return max;
+    }
+
+    // Add another histogram's values to this one
+    public void add(LogHistogram other) {
+        for (int b = 0; b < BUCKETS; b++) {
+            counts[b] += other.counts[b];
+        }
+        total += other.total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    static int bucket(int value) {
+        int high = 31 - Integer.numberOfLeadingZeros(value);
+        if (high < PRECISION) {
+            return value;
+        }
+        int shift = high - PRECISION + 1;
+        return (shift << (PRECISION - 1)) + (value >>> shift);
+    }
+
+    // Largest value that lands in the bucket
+    static int highest(int bucket) {
+        if (bucket < 2 * HALF) {
+            return bucket;
+        }
+        int shift = (bucket >>> (PRECISION - 1)) - 1;
+        long mantissa = bucket - ((long) shift << (PRECISION - 1));
+        return (int) Math.min(Integer.MAX_VALUE, ((mantissa + 1) << shift) - 1);
+    }
+}
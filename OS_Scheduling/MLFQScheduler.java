@@ -0,0 +1,348 @@
+package org.example;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+// Multilevel feedback queue. Jobs arrive at level 0, the highest; a job that has used up
+// its level's quantum, in one slice or over several, drops to the next level, down to the
+// last one. A job waiting at a higher level preempts a running job at a lower one, and
+// every boostInterval all jobs go back to level 0 so that long jobs cannot starve
+// (0 never boosts). The processes' own priority and quantum are not used.
+public class MLFQScheduler extends CPUScheduler {
+
+    // Levels a two-level bitmap of 64-bit words can index
+    public static final int MAX_LEVELS = 64 * 64;
+
+    private final int[] quanta;
+    private final int boostInterval;
+    private final int contextSwitch;
+
+    // quanta[level] is the time a job may run at that level before it is demoted
+    public MLFQScheduler(int[] quanta, int boostInterval, int contextSwitch) {
+        if (quanta.length == 0 || quanta.length > MAX_LEVELS) {
+            throw new IllegalArgumentException("Levels must be between 1 and " + MAX_LEVELS + ": " + quanta.length);
+        }
+        for (int quantum : quanta) {
+            if (quantum <= 0) {
+                throw new IllegalArgumentException("Quanta must be positive: " + quantum);
+            }
+        }
+        this.quanta = quanta.clone();
+        this.boostInterval = boostInterval;
+        this.contextSwitch = contextSwitch;
+    }
+
+    // The usual shape: each level's quantum twice the one above it
+    public static MLFQScheduler doubling(int levels, int quantum, int boostInterval, int contextSwitch) {
+        if (levels < 1) {
+            throw new IllegalArgumentException("Levels must be positive: " + levels);
+        }
+        int[] quanta = new int[levels];
+        long q = quantum;
+        for (int level = 0; level < levels; level++) {
+            quanta[level] = (int) q;
+            q = Math.min(q * 2, Integer.MAX_VALUE);
+        }
+        return new MLFQScheduler(quanta, boostInterval, contextSwitch);
+    }
+
+    @Override
+    public String toString() {
+        return "MLFQScheduler(quanta=" + Arrays.toString(quanta) + ", boostInterval=" + boostInterval
+                + ", contextSwitch=" + contextSwitch + ")";
+    }
+
+    @Override
+    protected SchedulingPolicy newPolicy(ProcessTable table, RunState state, ScheduleListener listener) {
+        return new Policy(new Jobs(table.size()), state);
+    }
+
+    // Levels, allotments and queue links follow a job from core to core
+    @Override
+    protected SchedulingPolicy[] newPolicies(ProcessTable table, RunState state, ScheduleListener listener,
+                                             int cores) {
+        Jobs jobs = new Jobs(table.size());
+        SchedulingPolicy[] policies = new SchedulingPolicy[cores];
+        for (int core = 0; core < cores; core++) {
+            policies[core] = new Policy(jobs, state);
+        }
+        return policies;
+    }
+
+    // Per-job arrays of a run, shared by the ready queues of all cores. level and used are
+    // only current if stamp matches the boost epoch; a job boosted since reads as level 0.
+    private static final class Jobs {
+        final int[] level;
+        final int[] used;
+        final int[] stamp;
+        final int[] next;
+
+        Jobs(int n) {
+            level = new int[n];
+            used = new int[n];
+            stamp = new int[n];
+            next = new int[n];
+        }
+    }
+
+    // Boosts are applied lazily: the first call into the policy at or after a multiple of
+    // boostInterval moves every queued job to level 0 in one O(levels) splice, and jobs
+    // stamped before that pick up their reset level when they are next looked at.
+    private final class Policy implements SchedulingPolicy {
+        private final Jobs jobs;
+        private final RunState state;
+        private final RunQueues ready;
+        private int epoch;
+        private int dispatched;
+
+        Policy(Jobs jobs, RunState state) {
+            this.jobs = jobs;
+            this.state = state;
+            this.ready = new RunQueues(quanta.length, jobs.next);
+        }
+
+        private void boost(int time) {
+            if (boostInterval > 0 && time / boostInterval > epoch) {
+                epoch = time / boostInterval;
+                ready.merge();
+            }
+        }
+
+        // Bring a job's level and allotment up to date with the last boost
+        private void restamp(int job) {
+            if (jobs.stamp[job] != epoch) {
+                jobs.stamp[job] = epoch;
+                jobs.level[job] = 0;
+                jobs.used[job] = 0;
+            }
+        }
+
+        private int level(int job) {
+            return jobs.stamp[job] == epoch ? jobs.level[job] : 0;
+        }
+
+        @Override
+        public void admit(int job, int time) {
+            boost(time);
+            jobs.stamp[job] = epoch;
+            jobs.level[job] = 0;
+            jobs.used[job] = 0;
+            ready.add(0, job);
+        }
+
+        @Override
+        public int select(int time) {
+            boost(time);
+            int level = ready.first();
+            if (level == -1) {
+                return -1;
+            }
+            int job = ready.poll(level);
+            restamp(job);
+            dispatched = time;
+            return job;
+        }
+
+        @Override
+        public int slice(int job, int time) {
+            return quanta[jobs.level[job]] - jobs.used[job];
+        }
+
+        @Override
+        public int readyCount() {
+            return ready.size;
+        }
+
+        // The head of the lowest level, which would wait longest here
+        @Override
+        public int steal(int time) {
+            boost(time);
+            int level = ready.last();
+            return level == -1 ? -1 : ready.poll(level);
+        }
+
+        // Keeps its level and what it has used of the allotment
+        @Override
+        public void migrate(int job, int time) {
+            boost(time);
+            restamp(job);
+            ready.add(jobs.level[job], job);
+        }
+
+        // Arrivals enter at level 0, so only a job below it can be preempted
+        @Override
+        public boolean preemptsOnArrival(int job, int time) {
+            return level(job) > 0;
+        }
+
+        @Override
+        public boolean preempt(int job, int time) {
+            boost(time);
+            int best = ready.first();
+            return best != -1 && best < level(job);
+        }
+
+        @Override
+        public int release(int job, Release reason, int time, boolean workRemains) {
+            boost(time);
+            if (reason != Release.COMPLETED) {
+                if (jobs.stamp[job] != epoch) {
+                    // Boosted while it ran: a fresh allotment at the top
+                    restamp(job);
+                } else {
+                    jobs.used[job] += time - dispatched;
+                    if (jobs.used[job] >= quanta[jobs.level[job]]) {
+                        jobs.level[job] = Math.min(jobs.level[job] + 1, quanta.length - 1);
+                        jobs.used[job] = 0;
+                    }
+                }
+                ready.add(jobs.level[job], job);
+            }
+            // Context switch if work remains
+            return workRemains ? contextSwitch : 0;
+        }
+
+        @Override
+        public void save(DataOutput out) throws IOException {
+            out.writeInt(epoch);
+            out.writeInt(dispatched);
+            Checkpoint.writeLive(out, state, jobs.level);
+            Checkpoint.writeLive(out, state, jobs.used);
+            Checkpoint.writeLive(out, state, jobs.stamp);
+            ready.writeTo(out);
+        }
+
+        @Override
+        public void restore(DataInput in) throws IOException {
+            epoch = in.readInt();
+            dispatched = in.readInt();
+            Checkpoint.readLive(in, state, jobs.level);
+            Checkpoint.readLive(in, state, jobs.used);
+            Checkpoint.readLive(in, state, jobs.stamp);
+            ready.readFrom(in);
+        }
+    }
+
+    // One FIFO per level, linked through the shared next array, and a bitmap of the
+    // non-empty levels: a word per 64 levels plus a summary word with a bit per non-empty
+    // word. The highest (or lowest) non-empty level is two bit scans away however many
+    // levels there are.
+    private static final class RunQueues {
+        private final int[] next;
+        private final int[] head;
+        private final int[] tail;
+        private final long[] words;
+        private long summary;
+        int size;
+
+        RunQueues(int levels, int[] next) {
+            this.next = next;
+            this.head = new int[levels];
+            this.tail = new int[levels];
+            this.words = new long[(levels + 63) >>> 6];
+            Arrays.fill(head, -1);
+        }
+
+        void add(int level, int job) {
+            next[job] = -1;
+            if (head[level] == -1) {
+                head[level] = job;
+                words[level >>> 6] |= 1L << level;
+                summary |= 1L << (level >>> 6);
+            } else {
+                next[tail[level]] = job;
+            }
+            tail[level] = job;
+            size++;
+        }
+
+        // Each level's queue in order
+        void writeTo(DataOutput out) throws IOException {
+            out.writeInt(head.length);
+            for (int level = 0; level < head.length; level++) {
+                int count = 0;
+                for (int job = head[level]; job != -1; job = next[job]) {
+                    count++;
+                }
+                out.writeInt(count);
+                for (int job = head[level]; job != -1; job = next[job]) {
+                    out.writeInt(job);
+                }
+            }
+        }
+
+        void readFrom(DataInput in) throws IOException {
+            if (in.readInt() != head.length) {
+                throw new IOException("Checkpoint has a different number of levels");
+            }
+            for (int level = 0; level < head.length; level++) {
+                for (int n = in.readInt(); n > 0; n--) {
+                    add(level, in.readInt());
+                }
+            }
+        }
+
+        // Highest non-empty level, or -1
+        int first() {
+            if (summary == 0) {
+                return -1;
+            }
+            int word = Long.numberOfTrailingZeros(summary);
+            return word << 6 | Long.numberOfTrailingZeros(words[word]);
+        }
+
+        // Lowest non-empty level, or -1
+        int last() {
+            if (summary == 0) {
+                return -1;
+            }
+            int word = 63 - Long.numberOfLeadingZeros(summary);
+            return word << 6 | 63 - Long.numberOfLeadingZeros(words[word]);
+        }
+
+        int poll(int level) {
+            int job = head[level];
+            head[level] = next[job];
+            if (head[level] == -1) {
+                words[level >>> 6] &= ~(1L << level);
+                if (words[level >>> 6] == 0) {
+                    summary &= ~(1L << (level >>> 6));
+                }
+            }
+            size--;
+            return job;
+        }
+
+        // Append every non-empty level, in order, to level 0
+        void merge() {
+            long nonEmpty = summary;
+            while (nonEmpty != 0) {
+                int word = Long.numberOfTrailingZeros(nonEmpty);
+                nonEmpty &= nonEmpty - 1;
+                long bits = words[word];
+                words[word] = 0;
+                while (bits != 0) {
+                    int level = word << 6 | Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (level == 0) {
+                        continue;
+                    }
+                    if (head[0] == -1) {
+                        head[0] = head[level];
+                    } else {
+                        next[tail[0]] = head[level];
+                    }
+                    tail[0] = tail[level];
+                    head[level] = -1;
+                }
+            }
+            summary = 0;
+            if (head[0] != -1) {
+                words[0] = 1;
+                summary = 1;
+            }
+        }
+    }
+}
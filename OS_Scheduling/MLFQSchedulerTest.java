@@ -0,0 +1,86 @@
+import org.example.*;
+import org.example.Process;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MLFQSchedulerTest {
+
+    @Test
+    void demotesOnUsedQuantumAndPreemptsLowerLevels() {
+        List<Process> processes = List.of(
+                new Process("A", 0, 5, 0, 0),
+                new Process("B", 1, 2, 0, 0),
+                new Process("C", 5, 1, 0, 0));
+
+        SchedulerResult result = new MLFQScheduler(new int[]{2, 4}, 0, 0).run(processes);
+
+        // A drops to level 1 after 2 units, B runs at level 0, C preempts A at 5
+        assertEquals(List.of("A", "B", "A", "C", "A"), result.executionOrder);
+        assertEquals(3, result.waitingTime.get("A"));
+        assertEquals(1, result.waitingTime.get("B"));
+        assertEquals(0, result.waitingTime.get("C"));
+        assertEquals(8, result.turnaroundTime.get("A"));
+    }
+
+    @Test
+    void boostLetsDemotedJobsRunAgain() {
+        // A stream of short jobs keeps level 0 busy for 200 units
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process("L", 0, 100, 0, 0));
+        for (int i = 1; i <= 100; i++) {
+            processes.add(new Process("S" + i, 2 * i, 2, 0, 0));
+        }
+
+        assertTrue(secondDispatchOfL(new MLFQScheduler(new int[]{2, 10}, 0, 0).run(processes)) >= 200);
+        assertTrue(secondDispatchOfL(new MLFQScheduler(new int[]{2, 10}, 20, 0).run(processes)) < 30);
+    }
+
+    private static int secondDispatchOfL(SchedulerResult result) {
+        int seen = 0;
+        for (int run = 0; run < result.timeline.size(); run++) {
+            if (result.timeline.process(run) == 0 && ++seen == 2) {
+                return result.timeline.start(run);
+            }
+        }
+        return -1;
+    }
+
+    // The best of several timed runs, after the JIT has seen a few
+    private static long bestRunNanos(MLFQScheduler scheduler, ProcessTable table) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 8; round++) {
+            ScheduleStatistics statistics = new ScheduleStatistics(1_000);
+            long start = System.nanoTime();
+            scheduler.run(table, statistics);
+            long elapsed = System.nanoTime() - start;
+            assertEquals(table.size(), statistics.completed());
+            if (round >= 3) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        return best;
+    }
+
+    @Test
+    void manyLevelsCostNoMoreThanFew() {
+        ProcessTable table = new ProcessTable();
+        new WorkloadGenerator(5).count(100_000).poisson(0.1).pareto(1.2, 2)
+                .forEachRemaining(p -> table.add(p.name, p.arrival, p.burst, p.priority, p.quantum));
+
+        int[] many = new int[MLFQScheduler.MAX_LEVELS];
+        Arrays.fill(many, 1);
+        int[] few = new int[4];
+        Arrays.fill(few, 1);
+        long manyLevels = bestRunNanos(new MLFQScheduler(many, 5_000, 0), table);
+        long fewLevels = bestRunNanos(new MLFQScheduler(few, 5_000, 0), table);
+
+        // Finding the top busy level is two bitmap scans however many levels there are
+        assertTrue(manyLevels < 2 * fewLevels,
+                MLFQScheduler.MAX_LEVELS + " levels took " + manyLevels + " ns, 4 levels " + fewLevels + " ns");
+    }
+}
@@ -0,0 +1,155 @@
+package org.example;
+
+import java.util.Iterator;
+
+// Settings of a multi-core run: how many cores, where arriving jobs are queued and how
+// idle cores take work from busy ones. Every core has its own run queue (its own policy
+// instance); a job only changes core when it is stolen.
+//
+//   MultiCore.Report report = new MultiCore(64).stealing(MultiCore.Stealing.BUSIEST)
+//           .run(new RoundRobinScheduler(4, 1), table, statistics);
+//
+// Listeners see the events of all cores interleaved in time order, so per-job results and
+// ScheduleStatistics work as usual, but a SchedulerResult timeline (one CPU) does not.
+public class MultiCore {
+
+    public enum Placement {
+        // The core with the fewest queued plus running jobs; idle cores first
+        LEAST_LOADED,
+        // Cores in turn, regardless of load, like a dispatcher with no global view
+        ROUND_ROBIN
+    }
+
+    public enum Stealing {
+        NONE,
+        // Take from the core with the longest run queue
+        BUSIEST,
+        // Take from the longer queue of two random other cores
+        RANDOM
+    }
+
+    private final int cores;
+    private Placement placement = Placement.LEAST_LOADED;
+    private Stealing stealing = Stealing.BUSIEST;
+    private long seed = 1;
+
+    public MultiCore(int cores) {
+        if (cores < 1 || cores > 1 << 24) {
+            throw new IllegalArgumentException("Cores must be between 1 and 2^24: " + cores);
+        }
+        this.cores = cores;
+    }
+
+    public MultiCore placement(Placement placement) {
+        this.placement = placement;
+        return this;
+    }
+
+    public MultiCore stealing(Stealing stealing) {
+        this.stealing = stealing;
+        return this;
+    }
+
+    // Seed for RANDOM stealing
+    public MultiCore seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public int cores() {
+        return cores;
+    }
+
+    public Report run(CPUScheduler scheduler, ProcessTable table, ScheduleListener listener) {
+        return run(scheduler, table, JobSource.of(table), listener);
+    }
+
+    // Streamed like CPUScheduler.run(jobs, maxLive, listener)
+    public Report run(CPUScheduler scheduler, Iterator<Process> jobs, int maxLive, ScheduleListener listener) {
+        JobStream stream = new JobStream(jobs, maxLive);
+        return run(scheduler, stream.table(), stream, listener);
+    }
+
+    private Report run(CPUScheduler scheduler, ProcessTable table, JobSource source, ScheduleListener listener) {
+        RunState state = new RunState(table.size());
+        SchedulingPolicy[] policies = scheduler.newPolicies(table, state, listener, cores);
+        Report report = new Report(cores);
+        MultiCoreSimulator.run(scheduler, table, source, state, policies, placement, stealing, seed, listener, report);
+        return report;
+    }
+
+    // Per-core counters of a finished run
+    public static final class Report {
+        final long[] busy;
+        final long[] dispatches;
+        final long[] migrationsIn;
+        final long[] migrationsOut;
+        int makespan;
+
+        Report(int cores) {
+            busy = new long[cores];
+            dispatches = new long[cores];
+            migrationsIn = new long[cores];
+            migrationsOut = new long[cores];
+        }
+
+        public int cores() {
+            return busy.length;
+        }
+
+        // Time of the last completion
+        public int makespan() {
+            return makespan;
+        }
+
+        // Time the core spent running jobs, context switches excluded
+        public long busy(int core) {
+            return busy[core];
+        }
+
+        public double utilization(int core) {
+            return makespan == 0 ? 0 : (double) busy[core] / makespan;
+        }
+
+        public double utilization() {
+            long total = 0;
+            for (long b : busy) {
+                total += b;
+            }
+            return makespan == 0 ? 0 : (double) total / ((long) makespan * busy.length);
+        }
+
+        public long dispatches(int core) {
+            return dispatches[core];
+        }
+
+        // Jobs this core stole from others
+        public long migrationsIn(int core) {
+            return migrationsIn[core];
+        }
+
+        // Jobs other cores stole from this one
+        public long migrationsOut(int core) {
+            return migrationsOut[core];
+        }
+
+        public long migrations() {
+            long total = 0;
+            for (long m : migrationsIn) {
+                total += m;
+            }
+            return total;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder s = new StringBuilder(String.format("makespan=%d utilization=%.3f migrations=%d",
+                    makespan, utilization(), migrations()));
+            for (int core = 0; core < busy.length; core++) {
+                s.append(String.format("%ncore %d: utilization=%.3f dispatches=%d in=%d out=%d", core,
+                        utilization(core), dispatches[core], migrationsIn[core], migrationsOut[core]));
+            }
+            return s.toString();
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package org.example;
+
+import java.util.SplittableRandom;
+
+// Discrete-event kernel for N cores, each with its own policy instance as its run queue.
+// As in Simulator, time jumps from event to event; an event costs O(log n) in the event
+// queue and the policy plus O(log cores) to keep the two core heaps (by load, by queue
+// length) current, so hundreds of cores cost no more per event than a handful.
+//
+// Arrivals are admitted when some core could act on them at once (it is idle, or its job
+// is preemptible on arrival) and otherwise at the next dispatch or check, as on one CPU;
+// with a single core the schedule is exactly Simulator's. Each is placed on a core as it
+// is admitted and only that core's job is checked for preemption. A core whose queue runs
+// dry steals one ready job, or goes idle until a job is placed on it or another core has
+// queued work it could steal.
+final class MultiCoreSimulator {
+
+    private static final int STOP = Simulator.STOP;
+    private static final int SWITCH_END = Simulator.SWITCH_END;
+    private static final int ARRIVAL = Simulator.ARRIVAL;
+
+    private final CPUScheduler scheduler;
+    private final ProcessTable table;
+    private final JobSource source;
+    private final RunState state;
+    private final SchedulingPolicy[] policies;
+    private final MultiCore.Placement placement;
+    private final MultiCore.Stealing stealing;
+    private final SplittableRandom random;
+    private final ScheduleListener listener;
+    private final MultiCore.Report report;
+    private final EventQueue events = new EventQueue();
+    private final int cores;
+
+    private final int[] remaining;
+    private final int[] firstRun;
+    private final int[] id;
+    private int admitted;
+    private int live;
+    private boolean arrivalPending;
+    private int nextCore;
+
+    // Per core: running job, slice end, last charge, and the time of its one live STOP
+    // event (-1 if none); other STOP events still queued for the core are stale
+    private final int[] running;
+    private final int[] sliceEnd;
+    private final int[] charged;
+    private final int[] stopAt;
+
+    // Cores whose running job is to be checked when a job arrives for them
+    private final boolean[] watching;
+    private int watchers;
+
+    // Queued jobs per core as of its last change, and the heaps ordered by it
+    private final int[] ready;
+    private final IndexedMinHeap leastLoaded;
+    private final IndexedMinHeap busiest;
+
+    // Idle cores, as a set with O(1) removal
+    private final int[] idle;
+    private final int[] idleIndex;
+    private int idleCount;
+
+    // Cores to check for preemption once all arrivals at the current time are placed
+    private final IntQueue checks = new IntQueue();
+    private final boolean[] checkQueued;
+
+    // Counts for SchedulerCounters: jobs queued over all cores, and when each idle core
+    // went idle
+    private int clock;
+    private int queued;
+    private int readyHighWater;
+    private long idleTime;
+    private final int[] idleSince;
+    private int unpublished;
+    private SchedulerCounters.Run counters;
+    private final SchedulerEvents.Run runEvent = new SchedulerEvents.Run();
+
+    private MultiCoreSimulator(CPUScheduler scheduler, ProcessTable table, JobSource source, RunState state, SchedulingPolicy[] policies,
+                               MultiCore.Placement placement, MultiCore.Stealing stealing, long seed,
+                               ScheduleListener listener, MultiCore.Report report) {
+        this.scheduler = scheduler;
+        this.table = table;
+        this.source = source;
+        this.state = state;
+        this.policies = policies;
+        this.placement = placement;
+        this.stealing = stealing;
+        this.random = new SplittableRandom(seed);
+        this.listener = SchedulerEvents.wrap(listener);
+        this.report = report;
+        this.cores = policies.length;
+        this.remaining = state.remaining;
+        this.firstRun = state.firstRun;
+        this.id = state.id;
+
+        running = new int[cores];
+        sliceEnd = new int[cores];
+        charged = new int[cores];
+        stopAt = new int[cores];
+        watching = new boolean[cores];
+        ready = new int[cores];
+        idle = new int[cores];
+        idleIndex = new int[cores];
+        idleSince = new int[cores];
+        checkQueued = new boolean[cores];
+        leastLoaded = new IndexedMinHeap(cores, (a, b) -> {
+            int c = Integer.compare(load(a), load(b));
+            return c != 0 ? c : Integer.compare(a, b);
+        });
+        busiest = new IndexedMinHeap(cores, (a, b) -> {
+            int c = Integer.compare(ready[b], ready[a]);
+            return c != 0 ? c : Integer.compare(a, b);
+        });
+    }
+
+    static void run(CPUScheduler scheduler, ProcessTable table, JobSource source, RunState state,
+                    SchedulingPolicy[] policies, MultiCore.Placement placement, MultiCore.Stealing stealing,
+                    long seed, ScheduleListener listener, MultiCore.Report report) {
+        new MultiCoreSimulator(scheduler, table, source, state, policies, placement, stealing, seed, listener,
+                report).run();
+    }
+
+    private void run() {
+        if (!source.hasNext()) {
+            return;
+        }
+        counters = new SchedulerCounters.Run(0);
+        runEvent.begin();
+        try {
+            handleEvents();
+        } finally {
+            finish();
+        }
+    }
+
+    private void handleEvents() {
+        for (int core = 0; core < cores; core++) {
+            running[core] = -1;
+            stopAt[core] = -1;
+            leastLoaded.add(core);
+            busiest.add(core);
+            idleIndex[core] = -1;
+            markIdle(core, 0);
+        }
+        scheduleArrival();
+
+        while (!events.isEmpty()) {
+            long event = events.poll();
+            int time = EventQueue.time(event);
+            int core = EventQueue.cpu(event);
+            clock = time;
+            if (++unpublished == Simulator.PUBLISH_EVERY) {
+                unpublished = 0;
+                counters.publish(admitted, readyHighWater, heapOperations(), idleTime, clock);
+            }
+            switch (EventQueue.kind(event)) {
+                case STOP -> {
+                    if (running[core] != -1 && stopAt[core] == time) {
+                        stop(core, time);
+                    }
+                }
+                case SWITCH_END -> dispatch(core, time);
+                default -> {
+                    arrivalPending = false;
+                    if (idleCount > 0 || watchers > 0) {
+                        admit(time);
+                    }
+                }
+            }
+        }
+    }
+
+    private long heapOperations() {
+        long operations = events.operations() + leastLoaded.operations() + busiest.operations();
+        for (SchedulingPolicy policy : policies) {
+            operations += policy.heapOperations();
+        }
+        return operations;
+    }
+
+    // Cores still idle when the run ends have waited since they went idle
+    private void finish() {
+        for (int i = 0; i < idleCount; i++) {
+            idleTime += clock - idleSince[idle[i]];
+            idleSince[idle[i]] = clock;
+        }
+        counters.end(admitted, readyHighWater, heapOperations(), idleTime, clock);
+        if (runEvent.isEnabled()) {
+            runEvent.policy = scheduler.toString();
+            runEvent.jobs = admitted;
+            runEvent.simulatedTime = clock;
+            runEvent.readyHighWater = readyHighWater;
+            runEvent.heapOperations = heapOperations();
+            runEvent.idleTime = idleTime;
+            runEvent.commit();
+        }
+    }
+
+    private int load(int core) {
+        return ready[core] + (running[core] == -1 ? 0 : 1);
+    }
+
+    // Re-read the core's queue length after its policy changed it
+    private void refresh(int core) {
+        int count = policies[core].readyCount();
+        queued += count - ready[core];
+        readyHighWater = Math.max(readyHighWater, queued);
+        ready[core] = count;
+        leastLoaded.update(core);
+        busiest.update(core);
+    }
+
+    private void admit(int time) {
+        while (source.hasNext() && source.nextArrival() <= time) {
+            int job = source.admit();
+            remaining[job] = table.burst[job];
+            firstRun[job] = -1;
+            state.completion[job] = -1;
+            state.rank[job] = admitted++;
+            id[job] = source.id(job);
+            live++;
+
+            int core = place();
+            policies[core].admit(job, time);
+            refresh(core);
+            if (idleIndex[core] >= 0) {
+                wake(core, time);
+            } else if (running[core] != -1 && !checkQueued[core]) {
+                checkQueued[core] = true;
+                checks.add(core);
+            }
+        }
+        scheduleArrival();
+
+        // Preemption checks see every job that arrived at this time, as on one CPU
+        while (!checks.isEmpty()) {
+            int core = checks.poll();
+            checkQueued[core] = false;
+            if (running[core] != -1 && stopAt[core] != time && watching[core]) {
+                check(core, time);
+            }
+            offer(core, time);
+        }
+    }
+
+    private void scheduleArrival() {
+        if (source.hasNext() && !arrivalPending) {
+            events.add(source.nextArrival(), ARRIVAL, 0);
+            arrivalPending = true;
+        }
+    }
+
+    private int place() {
+        if (placement == MultiCore.Placement.ROUND_ROBIN) {
+            int core = nextCore;
+            nextCore = (nextCore + 1) % cores;
+            return core;
+        }
+        return leastLoaded.peek();
+    }
+
+    private void markIdle(int core, int time) {
+        idleSince[core] = time;
+        idleIndex[core] = idleCount;
+        idle[idleCount++] = core;
+    }
+
+    private void wake(int core, int time) {
+        idleTime += time - idleSince[core];
+        int last = idle[--idleCount];
+        idle[idleIndex[core]] = last;
+        idleIndex[last] = idleIndex[core];
+        idleIndex[core] = -1;
+        events.add(time, SWITCH_END, core);
+    }
+
+    // Queued work on a core while others sit idle: wake one to steal it
+    private void offer(int core, int time) {
+        if (stealing != MultiCore.Stealing.NONE && ready[core] > 0 && idleCount > 0) {
+            wake(idle[idleCount - 1], time);
+        }
+    }
+
+    // The core is free: dispatch from its own queue, else from another core's, else idle
+    private void dispatch(int core, int time) {
+        admit(time);
+
+        SchedulingPolicy policy = policies[core];
+        int job = policy.select(time);
+        if (job == -1 && stealing != MultiCore.Stealing.NONE) {
+            job = steal(core, time);
+        }
+        if (job == -1) {
+            refresh(core);
+            markIdle(core, time);
+            return;
+        }
+
+        running[core] = job;
+        charged[core] = time;
+        sliceEnd[core] = time + Math.min(policy.slice(job, time), remaining[job]);
+        report.dispatches[core]++;
+        listener.onDispatch(id[job], time);
+        if (firstRun[job] == -1) {
+            firstRun[job] = time;
+        }
+        refresh(core);
+        scheduleStop(core, time);
+        offer(core, time);
+    }
+
+    private int steal(int thief, int time) {
+        if (cores == 1) {
+            return -1;
+        }
+        int victim;
+        if (stealing == MultiCore.Stealing.BUSIEST) {
+            victim = busiest.peek();
+        } else {
+            int a = other(thief);
+            int b = other(thief);
+            victim = ready[a] >= ready[b] ? a : b;
+        }
+        if (victim == thief || ready[victim] == 0) {
+            return -1;
+        }
+        int job = policies[victim].steal(time);
+        if (job == -1) {
+            return -1;
+        }
+        refresh(victim);
+        policies[thief].migrate(job, time);
+        report.migrationsIn[thief]++;
+        report.migrationsOut[victim]++;
+        listener.onMigrate(id[job], victim, thief, time);
+        return policies[thief].select(time);
+    }
+
+    // A random core other than this one
+    private int other(int core) {
+        int pick = random.nextInt(cores - 1);
+        return pick >= core ? pick + 1 : pick;
+    }
+
+    private void scheduleStop(int core, int time) {
+        watch(core, policies[core].preemptsOnArrival(running[core], time));
+        int stop = Math.min(sliceEnd[core], policies[core].nextCheck(running[core], time));
+        if (stop != stopAt[core]) {
+            stopAt[core] = stop;
+            events.add(stop, STOP, core);
+        }
+    }
+
+    private void watch(int core, boolean watch) {
+        if (watching[core] != watch) {
+            watching[core] = watch;
+            watchers += watch ? 1 : -1;
+        }
+    }
+
+    private void charge(int core, int time) {
+        int ran = time - charged[core];
+        remaining[running[core]] -= ran;
+        report.busy[core] += ran;
+        charged[core] = time;
+    }
+
+    // An arrival was queued on a busy core: preempt now or keep running
+    private void check(int core, int time) {
+        int job = running[core];
+        charge(core, time);
+        if (policies[core].preempt(job, time)) {
+            listener.onPreempt(id[job], time);
+            release(core, job, SchedulingPolicy.Release.PREEMPTED, time);
+        } else {
+            scheduleStop(core, time);
+        }
+    }
+
+    private void stop(int core, int time) {
+        int job = running[core];
+        charge(core, time);
+
+        if (remaining[job] == 0) {
+            state.completion[job] = time;
+            live--;
+            report.makespan = Math.max(report.makespan, time);
+            int tat = time - table.arrival[job];
+            listener.onComplete(id[job], time, tat, tat - table.burst[job], firstRun[job] - table.arrival[job]);
+            release(core, job, SchedulingPolicy.Release.COMPLETED, time);
+        } else if (time == sliceEnd[core]) {
+            listener.onPreempt(id[job], time);
+            release(core, job, SchedulingPolicy.Release.EXPIRED, time);
+        } else {
+            admit(time);
+            if (!policies[core].preempt(job, time)) {
+                scheduleStop(core, time);
+                return;
+            }
+            listener.onPreempt(id[job], time);
+            release(core, job, SchedulingPolicy.Release.PREEMPTED, time);
+        }
+    }
+
+    private void release(int core, int job, SchedulingPolicy.Release reason, int time) {
+        int contextSwitch = policies[core].release(job, reason, time, workRemains());
+        if (reason == SchedulingPolicy.Release.COMPLETED) {
+            source.release(job);
+        }
+        running[core] = -1;
+        stopAt[core] = -1;
+        watch(core, false);
+        refresh(core);
+
+        if (!workRemains()) {
+            return;
+        }
+        if (contextSwitch > 0) {
+            listener.onContextSwitch(time, time + contextSwitch);
+        }
+        events.add(time + contextSwitch, SWITCH_END, core);
+        offer(core, time);
+    }
+
+    private boolean workRemains() {
+        return live > 0 || source.hasNext();
+    }
+}
@@ -0,0 +1,52 @@
+import org.example.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultiCoreTest {
+
+    @Test
+    void oneCoreMatchesTheSingleCpuSimulator() {
+        for (long seed = 1; seed <= 50; seed++) {
+            ProcessTable table = Fixtures.table(Fixtures.workload(seed).count(60).poisson(0.1));
+            for (CPUScheduler scheduler : Fixtures.schedulers()) {
+                SchedulerResult expected = scheduler.run(table);
+                SchedulerResult actual = new SchedulerResult(table);
+                MultiCore.Report report = scheduler.run(table, new MultiCore(1), actual);
+
+                String where = scheduler + " seed " + seed;
+                Fixtures.assertSameResult(expected, actual, where);
+                assertEquals(0, report.migrations(), where);
+            }
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void everyJobRunsToCompletionOnSomeCore() {
+        ProcessTable table = Fixtures.table(Fixtures.workload(11).count(20_000).poisson(0.9));
+        long totalBurst = 0;
+        for (int i = 0; i < table.size(); i++) {
+            totalBurst += table.burst[i];
+        }
+
+        for (CPUScheduler scheduler : Fixtures.schedulers()) {
+            for (MultiCore.Stealing stealing : MultiCore.Stealing.values()) {
+                ScheduleStatistics statistics = new ScheduleStatistics(1_000);
+                MultiCore.Report report = new MultiCore(8).stealing(stealing).run(scheduler, table, statistics);
+
+                long busy = 0;
+                for (int core = 0; core < report.cores(); core++) {
+                    busy += report.busy(core);
+                }
+                String where = scheduler + " " + stealing;
+                assertEquals(table.size(), statistics.completed(), where);
+                assertEquals(totalBurst, busy, where);
+                if (stealing == MultiCore.Stealing.NONE) {
+                    assertEquals(0, report.migrations(), where);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.example;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+// A run fed one job at a time, e.g. from a live arrival log, that simulates as far as the
+// jobs submitted so far allow and reports to its listener as it goes:
+//
+//   OnlineRun run = new RoundRobinScheduler(2, 1).online(1 << 16, statistics);
+//   for (Process p; (p = log.take()) != null; ) {
+//       run.submit(p);            // completions up to p's arrival are reported here
+//   }
+//   run.finish();                 // no more jobs: runs to the end
+//
+// The schedule is exactly that of a batch run over the same jobs. Events at a time t are
+// handled once a job arriving after t has been submitted (or finish() called), since
+// until then a new arrival could still change what happens at t. Jobs must be submitted
+// in arrival order and occupy one of maxLive slots from arrival to completion; listener
+// ids are submission positions. Not thread-safe: one producer drives the run.
+public class OnlineRun implements JobSource {
+
+    private final ProcessTable slots;
+    private final int[] ids;
+    private final int[] free;
+    private int freeCount;
+    private final Simulator simulator;
+
+    // Submitted, not yet admitted
+    private final ArrayDeque<Process> pending = new ArrayDeque<>();
+    private int submitted;
+    private int admitted;
+    private int lastArrival = Integer.MIN_VALUE;
+    private boolean finished;
+    private boolean done;
+
+    OnlineRun(CPUScheduler scheduler, int maxLive, ScheduleListener listener) {
+        this.slots = new ProcessTable(maxLive);
+        this.ids = new int[maxLive];
+        this.free = new int[maxLive];
+        for (int slot = maxLive - 1; slot >= 0; slot--) {
+            slots.add("", 0, 0, 0, 0);
+            free[freeCount++] = slot;
+        }
+        RunState state = new RunState(maxLive);
+        this.simulator = Simulator.start(scheduler, slots, this, state, scheduler.newPolicy(slots, state, listener),
+                listener);
+    }
+
+    public void submit(Process p) {
+        if (finished) {
+            throw new IllegalStateException("Run already finished");
+        }
+        if (p.arrival < lastArrival) {
+            throw new IllegalArgumentException("Job " + p.name + " arrives at " + p.arrival
+                    + ", before the previous job at " + lastArrival);
+        }
+        lastArrival = p.arrival;
+        pending.add(p);
+        submitted++;
+        done = simulator.advance();
+    }
+
+    public void submitAll(Iterator<Process> jobs) {
+        while (jobs.hasNext()) {
+            submit(jobs.next());
+        }
+    }
+
+    // No more jobs: simulate to the end
+    public void finish() {
+        finished = true;
+        done = simulator.advance();
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public int submitted() {
+        return submitted;
+    }
+
+    // Jobs submitted that have not completed yet
+    public int inSystem() {
+        return submitted - admitted + (slots.size() - freeCount);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public int nextArrival() {
+        return pending.peek().arrival;
+    }
+
+    @Override
+    public int admit() {
+        if (freeCount == 0) {
+            throw new IllegalStateException("More than " + free.length + " jobs in the system at once");
+        }
+        Process p = pending.poll();
+        int slot = free[--freeCount];
+        slots.set(slot, p.name, p.arrival, p.burst, p.priority, p.quantum);
+        ids[slot] = admitted++;
+        return slot;
+    }
+
+    @Override
+    public int id(int slot) {
+        return ids[slot];
+    }
+
+    @Override
+    public void release(int slot) {
+        free[freeCount++] = slot;
+    }
+
+    // The last job submitted is still waiting after time, so it and every job before it
+    // answer all the run can ask
+    @Override
+    public boolean settled(int time) {
+        return finished || !pending.isEmpty() && lastArrival > time;
+    }
+}
@@ -0,0 +1,94 @@
+import org.example.*;
+import org.example.Process;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OnlineRunTest {
+
+    // Every listener event, in order
+    private static final class Log implements ScheduleListener {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onDispatch(int process, int time) {
+            events.add("D" + process + "@" + time);
+        }
+
+        @Override
+        public void onPreempt(int process, int time) {
+            events.add("P" + process + "@" + time);
+        }
+
+        @Override
+        public void onContextSwitch(int start, int end) {
+            events.add("S" + start + "-" + end);
+        }
+
+        @Override
+        public void onIdle(int start, int end) {
+            events.add("I" + start + "-" + end);
+        }
+
+        @Override
+        public void onComplete(int process, int time, int turnaround, int waiting, int response) {
+            events.add("C" + process + "@" + time + "/" + turnaround + "/" + waiting + "/" + response);
+        }
+
+        @Override
+        public void onQuantumUpdate(int process, int quantum) {
+            events.add("Q" + process + "=" + quantum);
+        }
+    }
+
+    @Test
+    void matchesTheBatchRunEventForEvent() {
+        for (long seed = 1; seed <= 40; seed++) {
+            List<Process> jobs = Fixtures.jobs(Fixtures.workload(seed).count(80));
+            for (CPUScheduler scheduler : Fixtures.schedulers()) {
+                Log batch = new Log();
+                scheduler.run(jobs.iterator(), 128, batch);
+
+                Log online = new Log();
+                OnlineRun run = scheduler.online(128, online);
+                for (Process p : jobs) {
+                    run.submit(p);
+                }
+                assertFalse(run.isDone());
+                run.finish();
+
+                assertTrue(run.isDone());
+                assertEquals(0, run.inSystem());
+                assertEquals(batch.events, online.events, scheduler + " seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void completionsAreReportedOnceALaterArrivalIsKnown() {
+        Log log = new Log();
+        OnlineRun run = new RoundRobinScheduler(2, 0).online(16, log);
+
+        run.submit(new Process("A", 0, 3, 0, 0));
+        assertTrue(log.events.isEmpty());
+
+        // A finishes at 3, before B arrives: reported as soon as B is submitted
+        run.submit(new Process("B", 10, 1, 0, 0));
+        assertTrue(log.events.contains("C0@3/3/0/0"));
+        assertEquals(1, run.inSystem());
+
+        run.finish();
+        assertTrue(log.events.contains("C1@11/1/0/0"));
+        assertThrows(IllegalStateException.class, () -> run.submit(new Process("C", 12, 1, 0, 0)));
+    }
+
+    @Test
+    void rejectsJobsOutOfArrivalOrder() {
+        OnlineRun run = new RoundRobinScheduler(2, 0).online(16, new Log());
+        run.submit(new Process("A", 5, 3, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> run.submit(new Process("B", 4, 1, 0, 0)));
+    }
+}
@@ -0,0 +1,117 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiFunction;
+
+// Evaluates a scheduler at every (quantum, contextSwitch) grid point over one shared
+// workload. Runs never write to the table, so grid points are simulated in parallel on
+// a fork-join pool with no copying; each point only keeps running totals.
+public class ParameterSweep {
+
+    public static final class Point {
+        public final int quantum;
+        public final int contextSwitch;
+        public final double averageWaitingTime;
+        public final double averageTurnaroundTime;
+        public final int dispatches;
+        public final int makespan;
+
+        Point(int quantum, int contextSwitch, Totals totals) {
+            this.quantum = quantum;
+            this.contextSwitch = contextSwitch;
+            this.averageWaitingTime = totals.completed == 0 ? 0 : (double) totals.waiting / totals.completed;
+            this.averageTurnaroundTime = totals.completed == 0 ? 0 : (double) totals.turnaround / totals.completed;
+            this.dispatches = totals.dispatches;
+            this.makespan = totals.makespan;
+        }
+    }
+
+    private final ForkJoinPool pool;
+
+    public ParameterSweep() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParameterSweep(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public List<Point> roundRobin(ProcessTable workload, int[] quanta, int[] contextSwitches) {
+        return run(workload, quanta, contextSwitches, RoundRobinScheduler::new);
+    }
+
+    // Points come back quantum-major: all context switches for quanta[0], then quanta[1], ...
+    public List<Point> run(ProcessTable workload, int[] quanta, int[] contextSwitches,
+                           BiFunction<Integer, Integer, CPUScheduler> factory) {
+        Point[] points = new Point[quanta.length * contextSwitches.length];
+        if (points.length == 0) {
+            return List.of();
+        }
+        // Sort once up front rather than racing to do it on every worker
+        workload.arrivalOrder();
+        pool.invoke(new Grid(workload, quanta, contextSwitches, factory, points, 0, points.length));
+        return Arrays.asList(points);
+    }
+
+    private static final class Grid extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ProcessTable workload;
+        private final int[] quanta;
+        private final int[] contextSwitches;
+        private final BiFunction<Integer, Integer, CPUScheduler> factory;
+        private final Point[] points;
+        private final int from;
+        private final int to;
+
+        Grid(ProcessTable workload, int[] quanta, int[] contextSwitches,
+             BiFunction<Integer, Integer, CPUScheduler> factory, Point[] points, int from, int to) {
+            this.workload = workload;
+            this.quanta = quanta;
+            this.contextSwitches = contextSwitches;
+            this.factory = factory;
+            this.points = points;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                int quantum = quanta[from / contextSwitches.length];
+                int contextSwitch = contextSwitches[from % contextSwitches.length];
+                Totals totals = new Totals();
+                factory.apply(quantum, contextSwitch).run(workload, totals);
+                points[from] = new Point(quantum, contextSwitch, totals);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Grid(workload, quanta, contextSwitches, factory, points, from, mid),
+                    new Grid(workload, quanta, contextSwitches, factory, points, mid, to));
+        }
+    }
+
+    private static final class Totals implements ScheduleListener {
+        long waiting;
+        long turnaround;
+        int completed;
+        int dispatches;
+        int makespan;
+
+        @Override
+        public void onDispatch(int process, int time) {
+            dispatches++;
+        }
+
+        @Override
+        public void onComplete(int process, int time, int turnaround, int waiting, int response) {
+            this.turnaround += turnaround;
+            this.waiting += waiting;
+            completed++;
+            makespan = Math.max(makespan, time);
+        }
+    }
+}
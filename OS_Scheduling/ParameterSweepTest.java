@@ -0,0 +1,65 @@
+import org.example.*;
+import org.example.Process;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParameterSweepTest {
+
+    private List<Process> workload(long seed, int n) {
+        Random random = new Random(seed);
+        List<Process> processes = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            processes.add(new Process("P" + i, random.nextInt(200), 1 + random.nextInt(20),
+                    random.nextInt(10), 1 + random.nextInt(8)));
+        }
+        return processes;
+    }
+
+    @Test
+    @Timeout(5)
+    void sweepMatchesSequentialRuns() {
+        ProcessTable table = ProcessTable.from(workload(42, 300));
+        int[] quanta = {1, 2, 3, 5, 8};
+        int[] contextSwitches = {0, 1, 2};
+
+        List<ParameterSweep.Point> points = new ParameterSweep().roundRobin(table, quanta, contextSwitches);
+        assertEquals(quanta.length * contextSwitches.length, points.size());
+
+        int i = 0;
+        for (int quantum : quanta) {
+            for (int contextSwitch : contextSwitches) {
+                SchedulerResult expected = new RoundRobinScheduler(quantum, contextSwitch).run(table);
+                ParameterSweep.Point point = points.get(i++);
+
+                assertEquals(quantum, point.quantum);
+                assertEquals(contextSwitch, point.contextSwitch);
+                assertEquals(expected.averageWaitingTime, point.averageWaitingTime, 1e-9);
+                assertEquals(expected.averageTurnaroundTime, point.averageTurnaroundTime, 1e-9);
+                assertEquals(expected.executionOrder.size(), point.dispatches);
+            }
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void runsDoNotMutateTheirInput() {
+        List<Process> processes = workload(7, 50);
+        int[] remaining = processes.stream().mapToInt(p -> p.remaining).toArray();
+
+        SchedulerResult first = new AGScheduler().run(processes);
+        SchedulerResult second = new AGScheduler().run(processes);
+
+        assertEquals(first.executionOrder, second.executionOrder);
+        assertEquals(first.waitingTime, second.waitingTime);
+        for (int i = 0; i < processes.size(); i++) {
+            assertEquals(remaining[i], processes.get(i).remaining);
+            assertEquals(-1, processes.get(i).completionTime);
+        }
+    }
+}
@@ -0,0 +1,534 @@
+package org.example;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Runs real tasks on a fixed number of workers, letting a scheduler's policies decide
+// which task holds each worker, so the simulator's predictions can be checked against
+// measured runs. Every worker has its own policy instance as its run queue, as in a
+// MultiCore run: a task is queued on the least-loaded worker and an idle worker steals
+// from the busiest one.
+//
+// Scheduling is cooperative. A task gives up its worker only by finishing or at a call
+// to PolicyExecutor.yieldPoint(), where an expired slice or a policy preemption parks it
+// until it is dispatched again; a task that never yields runs to completion. Policy time
+// is wall time since construction in ticks (1 ms unless given), the burst a task is
+// submitted with is the estimate SJF and AG order by, and the context-switch times the
+// policies return are not waited out, since the real switch cost is what gets measured.
+//
+// Each task runs on a thread of its own, parked while it is not dispatched, so at most
+// maxLive tasks may be in the executor at once. Listener calls are made under the
+// executor's lock, one at a time, with times in ticks and ids in submission order.
+// SchedulerCounters sees the executor as one run in ticks, from construction until it is
+// shut down with no task left.
+public class PolicyExecutor implements Executor, AutoCloseable {
+
+    private static final ThreadLocal<Task<?>> CURRENT = new ThreadLocal<>();
+
+    private final ProcessTable table;
+    private final RunState state;
+    private final SchedulingPolicy[] policies;
+    private final ScheduleListener listener;
+    private final long tickNanos;
+    private final long start = System.nanoTime();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition drained = lock.newCondition();
+
+    // Live tasks by slot, and the free slots
+    private final Task<?>[] tasks;
+    private final int[] free;
+    private int freeCount;
+    private int submitted;
+    private int live;
+    private boolean shutdown;
+
+    // Per worker: running job (-1 if idle), last charge, slice end, next policy check,
+    // and whether a job was queued on it since its running job was last checked
+    private final int[] running;
+    private final int[] charged;
+    private final long[] sliceEnd;
+    private final int[] checkAt;
+    private final boolean[] watching;
+    private final boolean[] arrived;
+
+    // Counts for SchedulerCounters; null once the executor has been counted as a finished run
+    private int completedTasks;
+    private int readyHighWater;
+    private long idleTime;
+    private final int[] idleSince;
+    private SchedulerCounters.Run counters = new SchedulerCounters.Run(0);
+
+    public PolicyExecutor(CPUScheduler scheduler, int workers, int maxLive) {
+        this(scheduler, workers, maxLive, Duration.ofMillis(1), new ScheduleListener() { });
+    }
+
+    public PolicyExecutor(CPUScheduler scheduler, int workers, int maxLive, Duration tick,
+                          ScheduleListener listener) {
+        if (workers < 1 || maxLive < 1) {
+            throw new IllegalArgumentException("Workers and maxLive must be positive: " + workers + ", " + maxLive);
+        }
+        if (tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("Tick must be positive: " + tick);
+        }
+        this.tickNanos = tick.toNanos();
+        this.listener = listener;
+        this.table = new ProcessTable(maxLive);
+        this.state = new RunState(maxLive);
+        this.tasks = new Task<?>[maxLive];
+        this.free = new int[maxLive];
+        for (int slot = maxLive - 1; slot >= 0; slot--) {
+            table.add("", 0, 0, 0, 0);
+            free[freeCount++] = slot;
+        }
+        this.policies = scheduler.newPolicies(table, state, listener, workers);
+
+        running = new int[workers];
+        charged = new int[workers];
+        sliceEnd = new long[workers];
+        checkAt = new int[workers];
+        watching = new boolean[workers];
+        arrived = new boolean[workers];
+        idleSince = new int[workers];
+        Arrays.fill(running, -1);
+    }
+
+    // Called from inside a task: give up the worker if the slice is over or the policy
+    // preempts, and come back once dispatched again. Does nothing outside a task.
+    public static void yieldPoint() {
+        Task<?> task = CURRENT.get();
+        if (task != null) {
+            task.executor().yieldPoint(task);
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        submit(command, 1, 0, 1);
+    }
+
+    public Task<Void> submit(Runnable task, int burst, int priority, int quantum) {
+        return submit(() -> {
+            task.run();
+            return null;
+        }, burst, priority, quantum);
+    }
+
+    // burst is the expected run time in ticks; priority and quantum as for Process
+    public <T> Task<T> submit(Callable<T> callable, int burst, int priority, int quantum) {
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor is shut down");
+            }
+            if (freeCount == 0) {
+                throw new RejectedExecutionException("More than " + free.length + " tasks in the executor at once");
+            }
+            int now = now();
+            int slot = free[--freeCount];
+            int id = submitted++;
+            table.set(slot, "T" + id, now, Math.max(1, burst), priority, quantum);
+            state.remaining[slot] = Math.max(1, burst);
+            state.firstRun[slot] = -1;
+            state.completion[slot] = -1;
+            state.rank[slot] = id;
+            state.id[slot] = id;
+            live++;
+
+            Task<T> task = new Task<>(this, slot, callable);
+            tasks[slot] = task;
+            int worker = leastLoaded();
+            policies[worker].admit(slot, now);
+            readyHighWater = Math.max(readyHighWater, readyCount());
+            if (running[worker] == -1) {
+                dispatch(worker, now);
+            } else {
+                arrived[worker] = true;
+            }
+            return task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // No new tasks; those submitted still run
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            if (live == 0) {
+                finish(now());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (live > 0) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = drained.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Shut down and wait for every task to finish
+    @Override
+    public void close() {
+        shutdown();
+        lock.lock();
+        try {
+            while (live > 0) {
+                drained.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int now() {
+        return (int) Math.min(Integer.MAX_VALUE, (System.nanoTime() - start) / tickNanos);
+    }
+
+    private int readyCount() {
+        int ready = 0;
+        for (SchedulingPolicy policy : policies) {
+            ready += policy.readyCount();
+        }
+        return ready;
+    }
+
+    private long heapOperations() {
+        long operations = 0;
+        for (SchedulingPolicy policy : policies) {
+            operations += policy.heapOperations();
+        }
+        return operations;
+    }
+
+    // Idle workers have waited since they went idle
+    private long idleTime(int now) {
+        long idle = idleTime;
+        for (int worker = 0; worker < running.length; worker++) {
+            if (running[worker] == -1) {
+                idle += now - idleSince[worker];
+            }
+        }
+        return idle;
+    }
+
+    // Shut down with nothing left to run: count the executor's run, once
+    private void finish(int now) {
+        if (counters != null) {
+            counters.end(completedTasks, readyHighWater, heapOperations(), idleTime(now), now);
+            counters = null;
+        }
+    }
+
+    private int load(int worker) {
+        return policies[worker].readyCount() + (running[worker] == -1 ? 0 : 1);
+    }
+
+    private int leastLoaded() {
+        int best = 0;
+        for (int worker = 1; worker < running.length; worker++) {
+            if (load(worker) < load(best)) {
+                best = worker;
+            }
+        }
+        return best;
+    }
+
+    // The worker is free: run the next task from its own queue, else from the busiest one
+    private void dispatch(int worker, int now) {
+        SchedulingPolicy policy = policies[worker];
+        int job = policy.select(now);
+        if (job == -1) {
+            job = steal(worker, now);
+        }
+        if (running[worker] == -1 && job != -1) {
+            idleTime += now - idleSince[worker];
+        } else if (running[worker] != -1 && job == -1) {
+            idleSince[worker] = now;
+        }
+        running[worker] = job;
+        if (job == -1) {
+            return;
+        }
+
+        charged[worker] = now;
+        sliceEnd[worker] = (long) now + policy.slice(job, now);
+        checkAt[worker] = policy.nextCheck(job, now);
+        watching[worker] = policy.preemptsOnArrival(job, now);
+        arrived[worker] = false;
+        if (state.firstRun[job] == -1) {
+            state.firstRun[job] = now;
+        }
+        listener.onDispatch(state.id[job], now);
+        tasks[job].resume(worker);
+    }
+
+    private int steal(int thief, int now) {
+        int victim = -1;
+        for (int worker = 0; worker < running.length; worker++) {
+            if (worker != thief && policies[worker].readyCount() > 0
+                    && (victim == -1 || policies[worker].readyCount() > policies[victim].readyCount())) {
+                victim = worker;
+            }
+        }
+        if (victim == -1) {
+            return -1;
+        }
+        int job = policies[victim].steal(now);
+        if (job == -1) {
+            return -1;
+        }
+        policies[thief].migrate(job, now);
+        listener.onMigrate(state.id[job], victim, thief, now);
+        return policies[thief].select(now);
+    }
+
+    // Run time counts against the estimate, which stays at least 1 until the task ends
+    private void charge(int worker, int now) {
+        int job = running[worker];
+        state.remaining[job] = Math.max(1, state.remaining[job] - (now - charged[worker]));
+        charged[worker] = now;
+    }
+
+    private void yieldPoint(Task<?> task) {
+        lock.lock();
+        try {
+            int worker = task.worker;
+            int job = task.slot;
+            SchedulingPolicy policy = policies[worker];
+            int now = now();
+            charge(worker, now);
+
+            SchedulingPolicy.Release reason;
+            if (now >= sliceEnd[worker]) {
+                reason = SchedulingPolicy.Release.EXPIRED;
+            } else if (arrived[worker] && watching[worker] || now >= checkAt[worker]) {
+                arrived[worker] = false;
+                if (!policy.preempt(job, now)) {
+                    checkAt[worker] = policy.nextCheck(job, now);
+                    watching[worker] = policy.preemptsOnArrival(job, now);
+                    return;
+                }
+                reason = SchedulingPolicy.Release.PREEMPTED;
+            } else {
+                return;
+            }
+
+            listener.onPreempt(state.id[job], now);
+            task.suspend();
+            policy.release(job, reason, now, true);
+            dispatch(worker, now);
+            while (!task.dispatched) {
+                task.turn.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called on the task's thread once it has finished, before its result is published
+    private void complete(Task<?> task) {
+        lock.lock();
+        try {
+            int worker = task.worker;
+            int job = task.slot;
+            int now = now();
+            task.suspend();
+            task.completed = task.lastDispatch;
+
+            state.completion[job] = now;
+            int turnaround = now - table.arrival[job];
+            int ran = (int) Math.min(turnaround, task.running / tickNanos);
+            listener.onComplete(state.id[job], now, turnaround, turnaround - ran,
+                    state.firstRun[job] - table.arrival[job]);
+            policies[worker].release(job, SchedulingPolicy.Release.COMPLETED, now, live > 1);
+            dispatch(worker, now);
+            completedTasks++;
+            if (counters != null) {
+                counters.publish(completedTasks, readyHighWater, heapOperations(), idleTime(now), now);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called on the task's thread after its result is published: the slot can be reused
+    private void retire(Task<?> task) {
+        lock.lock();
+        try {
+            tasks[task.slot] = null;
+            free[freeCount++] = task.slot;
+            live--;
+            if (live == 0) {
+                drained.signalAll();
+                if (shutdown) {
+                    finish(now());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A submitted task, with the times measured while it ran: nanoseconds, read once it is done
+    public static final class Task<T> implements Future<T> {
+        private final PolicyExecutor executor;
+        private final int slot;
+        private final Result<T> result;
+        private final Condition turn;
+        private Thread thread;
+
+        // Guarded by the executor's lock
+        private int worker;
+        private boolean dispatched;
+        private boolean finished;
+        private long lastDispatch;
+
+        // Written before the result is published
+        private final long submitted = System.nanoTime();
+        private long firstDispatch = -1;
+        private long running;
+        private long completed;
+
+        Task(PolicyExecutor executor, int slot, Callable<T> callable) {
+            this.executor = executor;
+            this.slot = slot;
+            this.result = new Result<>(this, callable);
+            this.turn = executor.lock.newCondition();
+        }
+
+        PolicyExecutor executor() {
+            return executor;
+        }
+
+        // Time from submission to the first dispatch
+        public long responseNanos() {
+            return firstDispatch - submitted;
+        }
+
+        // Time ready but not running, from submission to completion
+        public long queueingNanos() {
+            return turnaroundNanos() - running;
+        }
+
+        // Time holding a worker
+        public long runningNanos() {
+            return running;
+        }
+
+        public long turnaroundNanos() {
+            return completed - submitted;
+        }
+
+        private void resume(int worker) {
+            this.worker = worker;
+            dispatched = true;
+            lastDispatch = System.nanoTime();
+            if (firstDispatch == -1) {
+                firstDispatch = lastDispatch;
+            }
+            if (thread == null) {
+                thread = new Thread(this::runOnOwnThread, "policy-task-" + executor.state.id[slot]);
+                thread.setDaemon(true);
+                thread.start();
+            } else {
+                turn.signal();
+            }
+        }
+
+        private void suspend() {
+            running += System.nanoTime() - lastDispatch;
+            lastDispatch = System.nanoTime();
+            dispatched = false;
+        }
+
+        private void runOnOwnThread() {
+            CURRENT.set(this);
+            try {
+                result.run();
+            } finally {
+                CURRENT.remove();
+                finish();
+                executor.retire(this);
+            }
+        }
+
+        // Exactly once, whether the callable returned, threw, or was cancelled unrun
+        private void finish() {
+            if (!finished) {
+                finished = true;
+                executor.complete(this);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return result.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return result.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return result.isDone();
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            return result.get();
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return result.get(timeout, unit);
+        }
+    }
+
+    // Releases the worker and records the times before waking anyone in get()
+    private static final class Result<T> extends FutureTask<T> {
+        private final Task<T> task;
+
+        Result(Task<T> task, Callable<T> callable) {
+            super(callable);
+            this.task = task;
+        }
+
+        @Override
+        protected void set(T value) {
+            task.finish();
+            super.set(value);
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            task.finish();
+            super.setException(t);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+import org.example.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PolicyExecutorTest {
+
+    // Busy for the given number of 100 microsecond steps, offering the worker up after each
+    private static long spin(int steps) {
+        long count = 0;
+        for (int i = 0; i < steps; i++) {
+            long end = System.nanoTime() + 100_000;
+            while (System.nanoTime() < end) {
+                count++;
+            }
+            PolicyExecutor.yieldPoint();
+        }
+        return count;
+    }
+
+    @Test
+    @Timeout(10)
+    void roundRobinInterleavesYieldingTasks() throws Exception {
+        PolicyExecutor executor = new PolicyExecutor(new RoundRobinScheduler(2, 0), 1, 16);
+        List<PolicyExecutor.Task<Long>> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tasks.add(executor.submit(() -> spin(600), 60, 0, 2));
+        }
+        executor.close();
+
+        for (PolicyExecutor.Task<Long> task : tasks) {
+            assertTrue(task.get() > 0);
+            assertTrue(task.runningNanos() >= 60_000_000);
+            assertTrue(task.turnaroundNanos() >= task.runningNanos());
+            assertEquals(task.turnaroundNanos() - task.runningNanos(), task.queueingNanos());
+        }
+        // Every task got the worker long before the first one could have finished alone
+        assertTrue(tasks.get(2).responseNanos() < tasks.get(0).turnaroundNanos() / 2);
+    }
+
+    @Test
+    @Timeout(10)
+    void shortestJobFirstPicksTheSmallestEstimate() throws Exception {
+        List<String> finished = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch gate = new CountDownLatch(1);
+        ScheduleStatistics statistics = new ScheduleStatistics(1_000);
+        PolicyExecutor executor = new PolicyExecutor(new ShortestJobFirstScheduler(0), 1, 16,
+                Duration.ofMillis(1), statistics);
+
+        // Holds the only worker while the others queue up
+        executor.submit(() -> {
+            gate.await();
+            return null;
+        }, 1, 0, 1);
+        executor.submit(() -> finished.add("long"), 500, 0, 1);
+        executor.submit(() -> finished.add("medium"), 50, 0, 1);
+        executor.submit(() -> finished.add("short"), 5, 0, 1);
+        gate.countDown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of("short", "medium", "long"), finished);
+        assertEquals(4, statistics.completed());
+    }
+
+    @Test
+    @Timeout(10)
+    void idleWorkersStealQueuedTasks() throws Exception {
+        PolicyExecutor executor = new PolicyExecutor(new RoundRobinScheduler(5, 0), 4, 64);
+        List<PolicyExecutor.Task<Long>> tasks = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            tasks.add(executor.submit(() -> spin(20), 2, 0, 5));
+        }
+        executor.close();
+        for (PolicyExecutor.Task<Long> task : tasks) {
+            assertTrue(task.isDone());
+            assertTrue(task.get() > 0);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package org.example;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+public class PriorityScheduler extends CPUScheduler {
+
+    private final int contextSwitch;
+    private final int agingInterval;
+
+    public PriorityScheduler(int contextSwitch, int agingInterval) {
+        this.contextSwitch = contextSwitch;
+        this.agingInterval = agingInterval;
+    }
+
+    @Override
+    public String toString() {
+        return "PriorityScheduler(contextSwitch=" + contextSwitch + ", agingInterval=" + agingInterval + ")";
+    }
+
+    // Preemptive priority (lower number wins). A waiting job gains one level per
+    // agingInterval spent in the ready queue; the gain is computed from readySince
+    // when the job is looked at, never by sweeping the queue.
+    @Override
+    protected SchedulingPolicy newPolicy(ProcessTable table, RunState state, ScheduleListener listener) {
+        ReadyBuckets ready = new ReadyBuckets(table.size(), agingInterval);
+
+        return new SchedulingPolicy() {
+            private int level;
+
+            // Arrivals wait from their arrival time even when admitted later (after a context switch)
+            @Override
+            public void admit(int job, int time) {
+                ready.level[job] = table.priority[job];
+                ready.add(job, table.arrival[job]);
+            }
+
+            // Dispatch the best job; the aging it earned while waiting is kept
+            @Override
+            public int select(int time) {
+                if (ready.isEmpty()) {
+                    return -1;
+                }
+                int job = ready.poll(time);
+                level = ready.level[job];
+                return job;
+            }
+
+            @Override
+            public int slice(int job, int time) {
+                return Integer.MAX_VALUE;
+            }
+
+            @Override
+            public int readyCount() {
+                return ready.size;
+            }
+
+            @Override
+            public boolean preemptsOnArrival(int job, int time) {
+                return true;
+            }
+
+            // An aged waiting job can outrank the running one without any arrival
+            @Override
+            public int nextCheck(int job, int time) {
+                return ready.nextOvertake(level);
+            }
+
+            @Override
+            public boolean preempt(int job, int time) {
+                return ready.bestLevel(time) < level;
+            }
+
+            @Override
+            public int release(int job, Release reason, int time, boolean workRemains) {
+                if (reason == Release.PREEMPTED) {
+                    ready.add(job, time);
+                }
+                // Context switch if work remains
+                return workRemains ? contextSwitch : 0;
+            }
+
+            @Override
+            public void save(DataOutput out) throws IOException {
+                out.writeInt(level);
+                ready.writeTo(out, state);
+            }
+
+            @Override
+            public void restore(DataInput in) throws IOException {
+                level = in.readInt();
+                ready.readFrom(in, state);
+            }
+        };
+    }
+
+    // One FIFO per priority level. Jobs enter a bucket in readySince order, so the
+    // head of each bucket is also its most aged job and only heads need comparing.
+    // Buckets cover [lowest, lowest + buckets.length) and widen as new levels show up;
+    // the non-empty ones are also kept in a dense array, so each look at the heads costs
+    // one step per level that has a waiting job, not per level in the range.
+    private static final class ReadyBuckets {
+        final int[] level;
+        private final int[] readySince;
+        private final int[] seq;
+        private Bucket[] buckets = new Bucket[1];
+        private int lowest = 1;
+        private Bucket[] occupied = new Bucket[4];
+        private int occupiedCount;
+        private final int agingInterval;
+        private int size;
+        private int counter;
+
+        ReadyBuckets(int capacity, int agingInterval) {
+            this.level = new int[capacity];
+            this.readySince = new int[capacity];
+            this.seq = new int[capacity];
+            this.agingInterval = agingInterval;
+        }
+
+        // A level's FIFO and where it sits in occupied while non-empty
+        private static final class Bucket {
+            final IntQueue jobs = new IntQueue();
+            int slot;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(int id, int since) {
+            readySince[id] = since;
+            seq[id] = counter++;
+            int b = bucket(level[id]);
+            if (buckets[b] == null) {
+                buckets[b] = new Bucket();
+            }
+            push(buckets[b], id);
+            size++;
+        }
+
+        private void push(Bucket bucket, int id) {
+            if (bucket.jobs.isEmpty()) {
+                if (occupiedCount == occupied.length) {
+                    occupied = Arrays.copyOf(occupied, occupiedCount * 2);
+                }
+                bucket.slot = occupiedCount;
+                occupied[occupiedCount++] = bucket;
+            }
+            bucket.jobs.add(id);
+        }
+
+        void writeTo(DataOutput out, RunState state) throws IOException {
+            out.writeInt(lowest);
+            out.writeInt(buckets.length);
+            for (Bucket bucket : buckets) {
+                out.writeBoolean(bucket != null);
+                if (bucket != null) {
+                    bucket.jobs.writeTo(out);
+                }
+            }
+            out.writeInt(size);
+            out.writeInt(counter);
+            Checkpoint.writeLive(out, state, level);
+            Checkpoint.writeLive(out, state, readySince);
+            Checkpoint.writeLive(out, state, seq);
+        }
+
+        void readFrom(DataInput in, RunState state) throws IOException {
+            lowest = in.readInt();
+            buckets = new Bucket[in.readInt()];
+            occupiedCount = 0;
+            for (int b = 0; b < buckets.length; b++) {
+                if (in.readBoolean()) {
+                    buckets[b] = new Bucket();
+                    IntQueue saved = new IntQueue();
+                    saved.readFrom(in);
+                    while (!saved.isEmpty()) {
+                        push(buckets[b], saved.poll());
+                    }
+                }
+            }
+            size = in.readInt();
+            counter = in.readInt();
+            Checkpoint.readLive(in, state, level);
+            Checkpoint.readLive(in, state, readySince);
+            Checkpoint.readLive(in, state, seq);
+        }
+
+        private int bucket(int level) {
+            if (level < lowest) {
+                int shift = lowest - level;
+                Bucket[] wider = new Bucket[buckets.length + shift];
+                System.arraycopy(buckets, 0, wider, shift, buckets.length);
+                buckets = wider;
+                lowest = level;
+            } else if (level - lowest >= buckets.length) {
+                buckets = Arrays.copyOf(buckets, level - lowest + 1);
+            }
+            return level - lowest;
+        }
+
+        // Level of a waiting job once aging up to time t is applied; never below 1
+        // (or its own level, if that was already lower)
+        int effective(int id, int t) {
+            if (agingInterval <= 0) {
+                return level[id];
+            }
+            int aged = level[id] - (t - readySince[id]) / agingInterval;
+            return Math.max(aged, Math.min(level[id], 1));
+        }
+
+        int bestLevel(int t) {
+            int best = best(t);
+            return best == -1 ? Integer.MAX_VALUE : effective(best, t);
+        }
+
+        // Remove the best job and freeze its aged level
+        int poll(int t) {
+            int best = best(t);
+            int effective = effective(best, t);
+            Bucket bucket = buckets[level[best] - lowest];
+            bucket.jobs.poll();
+            if (bucket.jobs.isEmpty()) {
+                Bucket last = occupied[--occupiedCount];
+                occupied[bucket.slot] = last;
+                last.slot = bucket.slot;
+                occupied[occupiedCount] = null;
+            }
+            level[best] = effective;
+            size--;
+            return best;
+        }
+
+        // Earliest time some waiting job ages strictly below the given level
+        int nextOvertake(int runningLevel) {
+            int earliest = Integer.MAX_VALUE;
+            if (agingInterval <= 0) {
+                return earliest;
+            }
+            for (int i = 0; i < occupiedCount; i++) {
+                int head = occupied[i].jobs.peek();
+                if (runningLevel - 1 < Math.min(level[head], 1)) {
+                    continue;
+                }
+                long steps = Math.max(0, level[head] - runningLevel + 1);
+                long at = readySince[head] + steps * agingInterval;
+                earliest = (int) Math.min(earliest, at);
+            }
+            return earliest;
+        }
+
+        // Heads are totally ordered (seq breaks the last tie), so the order of occupied
+        // does not matter
+        private int best(int t) {
+            int best = -1;
+            int bestLevel = 0;
+            for (int i = 0; i < occupiedCount; i++) {
+                int head = occupied[i].jobs.peek();
+                int effective = effective(head, t);
+                if (best == -1 || effective < bestLevel
+                        || effective == bestLevel && (readySince[head] < readySince[best]
+                        || readySince[head] == readySince[best] && seq[head] < seq[best])) {
+                    best = head;
+                    bestLevel = effective;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -1,8 +1,10 @@
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.PriorityScheduler;
 import org.example.Process;
 import org.example.SchedulerResult;
+import org.example.WorkloadReader;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -39,28 +41,24 @@ public class PrioritySchedulerJsonTest {
     @Timeout(2) // Prevent infinite loops
     void testPrioritySchedulerFromJson(String fileName) throws Exception {
 
-        // 1️⃣ Load JSON
-        ObjectMapper mapper = new ObjectMapper();
+        // 1️⃣ Stream the input section
         InputStream is =
                 getClass().getClassLoader().getResourceAsStream(fileName);
 
         assertNotNull(is, "JSON file not found: " + fileName);
 
-        JsonNode root = mapper.readTree(is);
-
-        JsonNode input = root.get("input");
-        int contextSwitch = input.get("contextSwitch").asInt();
-        int agingInterval = input.get("agingInterval").asInt();
-
         // 2️⃣ Load processes
+        ObjectMapper mapper = new ObjectMapper();
         List<Process> processes = new ArrayList<>();
-        for (JsonNode p : input.get("processes")) {
-            processes.add(new Process(
-                    p.get("name").asText(),
-                    p.get("arrival").asInt(),
-                    p.get("burst").asInt(),
-                    p.get("priority").asInt()
-            ));
+        int contextSwitch;
+        int agingInterval;
+        JsonNode expectedRoot;
+        JsonParser parser = mapper.createParser(is);
+        try (WorkloadReader reader = new WorkloadReader(parser)) {
+            processes.addAll(reader.toList());
+            contextSwitch = reader.contextSwitch();
+            agingInterval = reader.agingInterval();
+            expectedRoot = SchedulerJsonTest.expectedOutput(mapper, parser, fileName);
         }
 
         // 3️⃣ Run scheduler
@@ -70,8 +68,10 @@ public class PrioritySchedulerJsonTest {
         SchedulerResult result = scheduler.run(processes);
 
         // 4️⃣ Expected output
+        assertNotNull(expectedRoot, "Expected output missing in " + fileName);
+
         JsonNode expected =
-                root.get("expectedOutput").get("Priority");
+                expectedRoot.get("Priority");
 
         // -------------------------
         // Execution order
@@ -10,12 +10,17 @@ public class Process {
     public int readySince = -1;
     public int remainingQuantum;
     public int quantum;
-    public Process(String name, int arrival, int burst, int priority, int i) {
+    public Process(String name, int arrival, int burst, int priority) {
+        this(name, arrival, burst, priority, 0);
+    }
+    public Process(String name, int arrival, int burst, int priority, int quantum) {
         this.name = name;
         this.arrival = arrival;
         this.burst = burst;
         this.remaining = burst;
         this.priority = priority;
+        this.quantum = quantum;
+        this.remainingQuantum = quantum;
     }
 }
 
@@ -0,0 +1,146 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+// Struct-of-arrays view of a workload: one int column per field, jobs addressed by id.
+// Ids are assigned in insertion order, so a table built from a list keeps the list's indices.
+// Runs only read the table (their mutable state lives in RunState), so one table can be
+// shared by concurrent runs as long as nothing is added meanwhile.
+public class ProcessTable {
+
+    public String[] name;
+    public int[] arrival;
+    public int[] burst;
+    public int[] priority;
+    public int[] quantum;
+
+    private int size;
+    private volatile int[] arrivalOrder;
+    private volatile byte[] digest;
+
+    public ProcessTable() {
+        this(16);
+    }
+
+    public ProcessTable(int capacity) {
+        capacity = Math.max(capacity, 1);
+        name = new String[capacity];
+        arrival = new int[capacity];
+        burst = new int[capacity];
+        priority = new int[capacity];
+        quantum = new int[capacity];
+    }
+
+    public static ProcessTable from(List<Process> processes) {
+        ProcessTable table = new ProcessTable(processes.size());
+        for (Process p : processes) {
+            table.add(p.name, p.arrival, p.burst, p.priority, p.quantum);
+        }
+        return table;
+    }
+
+    public int add(String name, int arrival, int burst, int priority, int quantum) {
+        if (size == this.arrival.length) {
+            grow();
+        }
+        int id = size++;
+        this.name[id] = name.intern();
+        this.arrival[id] = arrival;
+        this.burst[id] = burst;
+        this.priority[id] = priority;
+        this.quantum[id] = quantum;
+        arrivalOrder = null;
+        digest = null;
+        return id;
+    }
+
+    // Overwrite a row in place; used to recycle slots and edit jobs, so the name is not interned
+    void set(int id, String name, int arrival, int burst, int priority, int quantum) {
+        this.name[id] = name;
+        this.arrival[id] = arrival;
+        this.burst[id] = burst;
+        this.priority[id] = priority;
+        this.quantum[id] = quantum;
+        arrivalOrder = null;
+        digest = null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Ids ordered by arrival, ties kept in id order. Computed once and shared; do not modify.
+    public int[] arrivalOrder() {
+        int[] order = arrivalOrder;
+        if (order == null) {
+            order = sortByArrival();
+            arrivalOrder = order;
+        }
+        return order;
+    }
+
+    // SHA-256 of the rows in id order. Computed once and shared; do not modify.
+    byte[] digest() {
+        byte[] hash = digest;
+        if (hash == null) {
+            hash = hashRows();
+            digest = hash;
+        }
+        return hash;
+    }
+
+    private byte[] hashRows() {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer row = ByteBuffer.allocate(20);
+        for (int id = 0; id < size; id++) {
+            byte[] bytes = name[id].getBytes(StandardCharsets.UTF_8);
+            row.clear();
+            row.putInt(bytes.length).putInt(arrival[id]).putInt(burst[id]).putInt(priority[id]).putInt(quantum[id]);
+            sha.update(row.array());
+            sha.update(bytes);
+        }
+        return sha.digest();
+    }
+
+    private int[] sortByArrival() {
+        int[] order = new int[size];
+        boolean sorted = true;
+        for (int id = 0; id < size; id++) {
+            order[id] = id;
+            if (id > 0 && arrival[id] < arrival[id - 1]) {
+                sorted = false;
+            }
+        }
+        if (sorted) {
+            return order;
+        }
+        long[] keys = new long[size];
+        for (int id = 0; id < size; id++) {
+            keys[id] = ((long) arrival[id] << 32) | id;
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    private void grow() {
+        int capacity = arrival.length * 2;
+        name = Arrays.copyOf(name, capacity);
+        arrival = Arrays.copyOf(arrival, capacity);
+        burst = Arrays.copyOf(burst, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        quantum = Arrays.copyOf(quantum, capacity);
+    }
+}
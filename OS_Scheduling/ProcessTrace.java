@@ -0,0 +1,195 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Binary workload file (see TraceFormat): 32-byte records of arrival, burst, priority and
+// quantum followed by the name as up to 16 bytes of zero-padded UTF-8. The header carries
+// the run settings of the JSON input section. Opening a trace maps it; fields are read
+// straight from the mapping, and nothing is decoded until asked for.
+public final class ProcessTrace implements Closeable {
+
+    static final int RECORD = 32;
+    static final int NAME_BYTES = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long size;
+    private final int contextSwitch;
+    private final int agingInterval;
+    private final int rrQuantum;
+
+    private ProcessTrace(FileChannel channel, ByteBuffer header, MappedByteBuffer[] segments) {
+        this.channel = channel;
+        this.segments = segments;
+        this.size = header.getLong(8);
+        this.contextSwitch = header.getInt(20);
+        this.agingInterval = header.getInt(24);
+        this.rrQuantum = header.getInt(28);
+    }
+
+    public static ProcessTrace open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = TraceFormat.readHeader(channel, TraceFormat.PROCESSES, RECORD, file);
+            return new ProcessTrace(channel, header, TraceFormat.map(channel, header.getLong(8), RECORD));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static Writer create(Path file) throws IOException {
+        return new Writer(file);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public int contextSwitch() {
+        return contextSwitch;
+    }
+
+    public int agingInterval() {
+        return agingInterval;
+    }
+
+    public int rrQuantum() {
+        return rrQuantum;
+    }
+
+    public int arrival(long i) {
+        return field(i, 0);
+    }
+
+    public int burst(long i) {
+        return field(i, 4);
+    }
+
+    public int priority(long i) {
+        return field(i, 8);
+    }
+
+    public int quantum(long i) {
+        return field(i, 12);
+    }
+
+    public String name(long i) {
+        ByteBuffer segment = segment(i);
+        int at = offset(i) + 16;
+        byte[] bytes = new byte[NAME_BYTES];
+        int length = 0;
+        while (length < NAME_BYTES && (bytes[length] = segment.get(at + length)) != 0) {
+            length++;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    public Process process(long i) {
+        return new Process(name(i), arrival(i), burst(i), priority(i), quantum(i));
+    }
+
+    // The whole trace as a table, for workloads small enough to hold (under 2^31 jobs)
+    public ProcessTable toTable() {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException(size + " processes do not fit in a ProcessTable");
+        }
+        ProcessTable table = new ProcessTable((int) size);
+        for (long i = 0; i < size; i++) {
+            table.add(name(i), arrival(i), burst(i), priority(i), quantum(i));
+        }
+        return table;
+    }
+
+    // Records in file order; feed to CPUScheduler.run(iterator, maxLive, ...) when the
+    // trace was written in arrival order
+    public Iterator<Process> iterator() {
+        return new Iterator<>() {
+            private long next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Process next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return process(next++);
+            }
+        };
+    }
+
+    // Unmapping is left to the garbage collector; closing releases the file handle
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int field(long i, int at) {
+        return segment(i).getInt(offset(i) + at);
+    }
+
+    private ByteBuffer segment(long i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Process " + i + " of " + size);
+        }
+        return segments[(int) (i >>> TraceFormat.SEGMENT_SHIFT)];
+    }
+
+    private static int offset(long i) {
+        return (int) (i & TraceFormat.SEGMENT_MASK) * RECORD;
+    }
+
+    // Appends process records in the order given
+    public static final class Writer implements Closeable {
+        private final TraceFormat.Appender out;
+
+        private Writer(Path file) throws IOException {
+            this.out = new TraceFormat.Appender(file, TraceFormat.PROCESSES, RECORD);
+        }
+
+        // Run settings for the header; may be given any time before close
+        public Writer settings(int contextSwitch, int agingInterval, int rrQuantum) {
+            out.settings(contextSwitch, agingInterval, rrQuantum);
+            return this;
+        }
+
+        public void add(Process p) throws IOException {
+            add(p.name, p.arrival, p.burst, p.priority, p.quantum);
+        }
+
+        public void add(String name, int arrival, int burst, int priority, int quantum) throws IOException {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > NAME_BYTES) {
+                throw new IllegalArgumentException("Process name \"" + name + "\" is longer than "
+                        + NAME_BYTES + " bytes");
+            }
+            ByteBuffer record = out.record();
+            record.putInt(arrival).putInt(burst).putInt(priority).putInt(quantum).put(bytes);
+            for (int pad = bytes.length; pad < NAME_BYTES; pad++) {
+                record.put((byte) 0);
+            }
+        }
+
+        public long count() {
+            return out.count();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
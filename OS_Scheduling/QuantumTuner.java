@@ -0,0 +1,352 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+// Finds the quantum that minimizes an objective over one workload. Candidates run in
+// parallel on a fork-join pool, spread out over the range first so a good incumbent turns
+// up early. Each run keeps a lower bound on its final cost as it goes and is abandoned
+// the moment the bound exceeds the best cost found so far, so poor candidates cost only
+// the part of the run it takes to rule them out. A candidate only ties the best if it
+// completes, which makes the outcome independent of the order runs finish in: the best
+// quantum is the smallest one with the lowest cost.
+public class QuantumTuner {
+
+    public enum Objective {
+        // Mean of turnaround less burst
+        MEAN_WAITING,
+        // Nearest-rank 99th percentile of turnaround
+        P99_TURNAROUND,
+        // Context switches charged: one on every release while work remains, also when an
+        // expired slice hands the CPU back to the same job, and none at a switch cost of 0
+        CONTEXT_SWITCHES
+    }
+
+    public static final class Point {
+        public final int quantum;
+        // Exact if the run completed; otherwise what the run had shown it to be at least
+        public final double cost;
+        public final boolean aborted;
+        // Simulated time the run reached
+        public final int time;
+
+        Point(int quantum, double cost, boolean aborted, int time) {
+            this.quantum = quantum;
+            this.cost = cost;
+            this.aborted = aborted;
+            this.time = time;
+        }
+    }
+
+    public static final class Tuning {
+        public final int bestQuantum;
+        public final double bestCost;
+        // One point per candidate, in the order given
+        public final List<Point> curve;
+
+        Tuning(int bestQuantum, double bestCost, List<Point> curve) {
+            this.bestQuantum = bestQuantum;
+            this.bestCost = bestCost;
+            this.curve = curve;
+        }
+
+        public int aborted() {
+            int count = 0;
+            for (Point point : curve) {
+                if (point.aborted) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private final ForkJoinPool pool;
+
+    public QuantumTuner() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public QuantumTuner(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public Tuning roundRobin(ProcessTable workload, int contextSwitch, int minQuantum, int maxQuantum,
+                             Objective objective) {
+        if (minQuantum < 1 || maxQuantum < minQuantum) {
+            throw new IllegalArgumentException("Bad quantum range: " + minQuantum + " .. " + maxQuantum);
+        }
+        int[] quanta = new int[maxQuantum - minQuantum + 1];
+        for (int i = 0; i < quanta.length; i++) {
+            quanta[i] = minQuantum + i;
+        }
+        return tune(workload, quanta, objective, quantum -> new RoundRobinScheduler(quantum, contextSwitch));
+    }
+
+    public Tuning tune(ProcessTable workload, int[] quanta, Objective objective, IntFunction<CPUScheduler> factory) {
+        if (quanta.length == 0) {
+            throw new IllegalArgumentException("No quanta to try");
+        }
+        if (workload.size() == 0) {
+            List<Point> curve = new ArrayList<>();
+            for (int quantum : quanta) {
+                curve.add(new Point(quantum, 0, false, 0));
+            }
+            return new Tuning(Arrays.stream(quanta).min().getAsInt(), 0, curve);
+        }
+        int[] order = workload.arrivalOrder();
+        int[] arrivals = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            arrivals[i] = workload.arrival[order[i]];
+        }
+
+        Incumbent best = new Incumbent();
+        Point[] points = new Point[quanta.length];
+        List<Callable<Void>> runs = new ArrayList<>();
+        for (int index : spread(quanta.length)) {
+            runs.add(() -> {
+                Cost cost = cost(objective, workload, arrivals, best);
+                int quantum = quanta[index];
+                try {
+                    factory.apply(quantum).run(workload, cost);
+                    double value = cost.value();
+                    best.offer(value);
+                    points[index] = new Point(quantum, value, false, cost.time);
+                } catch (Abort e) {
+                    points[index] = new Point(quantum, cost.bound(cost.time), true, cost.time);
+                }
+                return null;
+            });
+        }
+        for (Future<Void> run : pool.invokeAll(runs)) {
+            try {
+                run.get();
+            } catch (Exception e) {
+                throw new IllegalStateException("Candidate run failed", e.getCause());
+            }
+        }
+
+        Point bestPoint = null;
+        for (Point point : points) {
+            if (!point.aborted && (bestPoint == null || point.cost < bestPoint.cost
+                    || point.cost == bestPoint.cost && point.quantum < bestPoint.quantum)) {
+                bestPoint = point;
+            }
+        }
+        return new Tuning(bestPoint.quantum, bestPoint.cost, Arrays.asList(points));
+    }
+
+    // Indices coarse to fine: 0, n/2, n/4, 3n/4, ... so early runs cover the whole range
+    private static int[] spread(int n) {
+        int[] order = new int[n];
+        boolean[] taken = new boolean[n];
+        int count = 0;
+        for (int step = Integer.highestOneBit(n); step >= 1; step >>= 1) {
+            for (int i = 0; i < n; i += step) {
+                if (!taken[i]) {
+                    taken[i] = true;
+                    order[count++] = i;
+                }
+            }
+        }
+        return order;
+    }
+
+    private static Cost cost(Objective objective, ProcessTable workload, int[] arrivals, Incumbent best) {
+        return switch (objective) {
+            case MEAN_WAITING -> new MeanWaiting(workload, arrivals, best);
+            case P99_TURNAROUND -> new Percentile(workload, 99, best);
+            case CONTEXT_SWITCHES -> new ContextSwitches(best);
+        };
+    }
+
+    // Lowest cost of a completed run so far
+    private static final class Incumbent {
+        private volatile double cost = Double.POSITIVE_INFINITY;
+
+        synchronized void offer(double value) {
+            if (value < cost) {
+                cost = value;
+            }
+        }
+    }
+
+    // Thrown through the simulator to end a run early; no stack trace to fill in
+    private static final class Abort extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Abort() {
+            super(null, null, false, false);
+        }
+    }
+
+    // Follows a run, never letting the cost the run must end up with exceed the incumbent
+    private abstract static class Cost implements ScheduleListener {
+        private final Incumbent best;
+        int time;
+
+        Cost(Incumbent best) {
+            this.best = best;
+        }
+
+        // No more than the final cost, given the run has reached this time
+        abstract double bound(int time);
+
+        abstract double value();
+
+        final void reached(int time) {
+            this.time = time;
+            if (bound(time) > best.cost) {
+                throw new Abort();
+            }
+        }
+    }
+
+    // Waiting only grows: completed jobs' waiting plus, for every job arrived and not
+    // done, the time it has been in the system and not running
+    private static final class MeanWaiting extends Cost {
+        private final int[] burst;
+        private final int[] arrival;
+        private final int[] arrivals;
+        private int arrived;
+        private long arrivedSum;
+
+        private int completed;
+        private long waitingSum;
+        private long completedArrivalSum;
+        private long completedBurstSum;
+        private long served;
+        private int running = -1;
+        private int start;
+
+        MeanWaiting(ProcessTable workload, int[] arrivals, Incumbent best) {
+            super(best);
+            this.burst = workload.burst;
+            this.arrival = workload.arrival;
+            this.arrivals = arrivals;
+        }
+
+        @Override
+        double bound(int time) {
+            while (arrived < arrivals.length && arrivals[arrived] <= time) {
+                arrivedSum += arrivals[arrived++];
+            }
+            long inSystem = arrived - completed;
+            long servedInSystem = served + (running == -1 ? 0 : time - start) - completedBurstSum;
+            long waiting = inSystem * time - (arrivedSum - completedArrivalSum) - servedInSystem;
+            return (double) (waitingSum + waiting) / arrivals.length;
+        }
+
+        @Override
+        double value() {
+            return (double) waitingSum / arrivals.length;
+        }
+
+        private void close(int time) {
+            if (running != -1) {
+                served += time - start;
+                running = -1;
+            }
+        }
+
+        @Override
+        public void onDispatch(int process, int time) {
+            close(time);
+            running = process;
+            start = time;
+            reached(time);
+        }
+
+        @Override
+        public void onPreempt(int process, int time) {
+            close(time);
+            reached(time);
+        }
+
+        @Override
+        public void onComplete(int process, int time, int turnaround, int waiting, int response) {
+            close(time);
+            completed++;
+            waitingSum += waiting;
+            completedArrivalSum += arrival[process];
+            completedBurstSum += burst[process];
+            reached(time);
+        }
+
+        @Override
+        public void onContextSwitch(int start, int end) {
+            reached(start);
+        }
+
+        @Override
+        public void onIdle(int start, int end) {
+            reached(start);
+        }
+    }
+
+    // The final percentile is at least the same rank's value among the jobs done so far:
+    // the rank-th largest turnaround, kept in a min-heap of that many
+    private static final class Percentile extends Cost {
+        private final int[] turnaround;
+        private final IndexedMinHeap largest;
+        private final int rank;
+
+        Percentile(ProcessTable workload, double percent, Incumbent best) {
+            super(best);
+            int n = workload.size();
+            this.rank = n - (int) Math.max(1, Math.ceil(percent / 100 * n)) + 1;
+            int[] turnaround = this.turnaround = new int[n];
+            this.largest = new IndexedMinHeap(IndexedMinHeap.positions(n),
+                    (a, b) -> Integer.compare(turnaround[a], turnaround[b]));
+        }
+
+        @Override
+        double bound(int time) {
+            return largest.size() < rank ? 0 : turnaround[largest.peek()];
+        }
+
+        @Override
+        double value() {
+            return bound(time);
+        }
+
+        @Override
+        public void onComplete(int process, int time, int turnaround, int waiting, int response) {
+            this.turnaround[process] = turnaround;
+            largest.add(process);
+            if (largest.size() > rank) {
+                largest.poll();
+            }
+            reached(time);
+        }
+    }
+
+    private static final class ContextSwitches extends Cost {
+        private int switches;
+
+        ContextSwitches(Incumbent best) {
+            super(best);
+        }
+
+        @Override
+        double bound(int time) {
+            return switches;
+        }
+
+        @Override
+        double value() {
+            return switches;
+        }
+
+        @Override
+        public void onContextSwitch(int start, int end) {
+            switches++;
+            reached(start);
+        }
+    }
+}
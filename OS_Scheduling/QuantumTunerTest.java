@@ -0,0 +1,82 @@
+import org.example.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuantumTunerTest {
+
+    private static ProcessTable workload(long seed) {
+        return Fixtures.table(Fixtures.workload(seed).count(400).poisson(0.15).pareto(1.5, 2));
+    }
+
+    // The objective by a full run
+    private static double cost(CPUScheduler scheduler, ProcessTable table, QuantumTuner.Objective objective) {
+        SchedulerResult result = scheduler.run(table);
+        switch (objective) {
+            case MEAN_WAITING:
+                return result.averageWaitingTime;
+            case P99_TURNAROUND:
+                int[] turnaround = result.turnaround.clone();
+                Arrays.sort(turnaround);
+                return turnaround[(int) Math.ceil(0.99 * turnaround.length) - 1];
+            default:
+                int[] switches = {0};
+                scheduler.run(table, new ScheduleListener() {
+                    @Override
+                    public void onContextSwitch(int start, int end) {
+                        switches[0]++;
+                    }
+                });
+                return switches[0];
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void findsTheExhaustiveOptimumAndOnlyAbortsLosers() {
+        ProcessTable table = workload(11);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (QuantumTuner.Objective objective : QuantumTuner.Objective.values()) {
+            QuantumTuner.Tuning tuning = new QuantumTuner(pool).roundRobin(table, 1, 1, 40, objective);
+            assertEquals(40, tuning.curve.size());
+
+            double best = Double.POSITIVE_INFINITY;
+            int bestQuantum = -1;
+            for (QuantumTuner.Point point : tuning.curve) {
+                double exact = cost(new RoundRobinScheduler(point.quantum, 1), table, objective);
+                if (point.aborted) {
+                    assertTrue(point.cost <= exact + 1e-9, objective + " bound at q=" + point.quantum);
+                    assertTrue(point.cost > tuning.bestCost);
+                } else {
+                    assertEquals(exact, point.cost, 1e-9);
+                }
+                if (exact < best) {
+                    best = exact;
+                    bestQuantum = point.quantum;
+                }
+            }
+            assertEquals(bestQuantum, tuning.bestQuantum, objective.toString());
+            assertEquals(best, tuning.bestCost, 1e-9);
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    @Timeout(30)
+    void abortsCandidatesThatCannotWin() {
+        ProcessTable table = workload(12);
+        QuantumTuner.Tuning tuning = new QuantumTuner().roundRobin(table, 2, 1, 64,
+                QuantumTuner.Objective.CONTEXT_SWITCHES);
+        assertTrue(tuning.aborted() > 0);
+        for (QuantumTuner.Point point : tuning.curve) {
+            if (point.aborted) {
+                Timeline full = new RoundRobinScheduler(point.quantum, 2).run(table).timeline;
+                assertTrue(point.time < full.end(full.size() - 1));
+            }
+        }
+    }
+}
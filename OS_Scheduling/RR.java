@@ -1,3 +1,5 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 class Process {
@@ -18,7 +20,19 @@ class Process {
 
 public class RR {
 
-    public static void main(String[] args) {
+    // With a file argument (or "-" for stdin) the workload is read in batch: the same
+    // numbers the prompts ask for, in the same order, separated by any whitespace:
+    //   n quantum context
+    //   name arrival burst     (n times)
+    public static void main(String[] args) throws IOException {
+
+        if (args.length > 0) {
+            InputStream source = args[0].equals("-") ? System.in : new FileInputStream(args[0]);
+            try (Input input = new Input(source)) {
+                batch(input);
+            }
+            return;
+        }
 
         Scanner in = new Scanner(System.in);
 
@@ -48,34 +62,66 @@ public class RR {
             processes.add(new Process(name, arrival, burst));
         }
 
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        run(processes, quantum, context, out);
+        out.flush();
+    }
+
+    private static void batch(Input in) throws IOException {
+        int n = in.nextInt();
+        int quantum = in.nextInt();
+        int context = in.nextInt();
+
+        List<Process> processes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String name = in.next();
+            int arrival = in.nextInt();
+            int burst = in.nextInt();
+            processes.add(new Process(name, arrival, burst));
+        }
+
+        PrintWriter out = new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16));
+        run(processes, quantum, context, out);
+        out.flush();
+    }
+
+    private static void run(List<Process> processes, int quantum, int context, PrintWriter out) {
+
         // sort by arrival
         processes.sort(Comparator.comparingInt(p -> p.arrival));
 
-        Queue<Process> ready = new LinkedList<>();
+        Deque<Process> ready = new ArrayDeque<>();
 
         int time = 0;
-        List<String> executionOrder = new ArrayList<>();
+        int next = 0;
+        int unfinished = 0;
+        for (Process p : processes) {
+            if (p.remaining > 0) {
+                unfinished++;
+            }
+        }
 
-        // Round Robin Simulation
-        while (true) {
+        // Execution order is written as it happens
+        out.println();
+        out.println("Execution Order:");
+        out.print('[');
+        boolean first = true;
 
-            // add processes arriving now
-            for (Process p : processes) {
-                if (p.arrival <= time && p.remaining > 0 && !ready.contains(p)) {
-                    ready.add(p);
-                }
-            }
+        // Round Robin Simulation
+        while (unfinished > 0) {
 
-            boolean unfinished = false;
-            for (Process p : processes) {
+            // add processes arriving now, behind the one that just ran
+            while (next < processes.size() && processes.get(next).arrival <= time) {
+                Process p = processes.get(next++);
                 if (p.remaining > 0) {
-                    unfinished = true;
-                    break;
+                    ready.add(p);
                 }
             }
 
-            if (ready.isEmpty() && unfinished) {
-                time++;
+            // idle until the next arrival
+            if (ready.isEmpty()) {
+                time = processes.get(next).arrival;
                 continue;
             }
 
@@ -83,7 +129,11 @@ public class RR {
 
             int executeTime = Math.min(quantum, current.remaining);
 
-            executionOrder.add(current.name);
+            if (!first) {
+                out.print(", ");
+            }
+            out.print(current.name);
+            first = false;
 
             current.remaining -= executeTime;
 
@@ -91,41 +141,22 @@ public class RR {
 
             if (current.remaining == 0) {
                 current.completion = time;
+                unfinished--;
             } else {
                 ready.add(current);
             }
 
-            boolean stillExist = false;
-            for (Process p : processes) {
-                if (p.remaining > 0) {
-                    stillExist = true;
-                    break;
-                }
-            }
-
-            if (stillExist) {
+            if (unfinished > 0) {
                 time += context;
             }
-
-            boolean allDone = true;
-            for (Process p : processes) {
-                if (p.remaining > 0) {
-                    allDone = false;
-                    break;
-                }
-            }
-
-            if (allDone)
-                break;
         }
+        out.println(']');
 
         // Compute waiting/turnaround
-        System.out.println("\nExecution Order:");
-        System.out.println(executionOrder);
-
         double avgWT = 0, avgTAT = 0;
 
-        System.out.println("\nProcess Results:");
+        out.println();
+        out.println("Process Results:");
         for (Process p : processes) {
             int tat = p.completion - p.arrival;
             int wt = tat - p.burst;
@@ -133,14 +164,93 @@ public class RR {
             avgWT += wt;
             avgTAT += tat;
 
-            System.out.println(
-                    p.name + " -> Waiting Time: " + wt + " , Turn Around Time: " + tat);
+            out.print(p.name);
+            out.print(" -> Waiting Time: ");
+            out.print(wt);
+            out.print(" , Turn Around Time: ");
+            out.println(tat);
         }
 
         avgWT /= processes.size();
         avgTAT /= processes.size();
 
-        System.out.println("\nAverage Waiting Time = " + avgWT);
-        System.out.println("Average Turnaround Time = " + avgTAT);
+        out.println();
+        out.println("Average Waiting Time = " + avgWT);
+        out.println("Average Turnaround Time = " + avgTAT);
+    }
+
+    // Whitespace-separated tokens parsed straight from a byte buffer, without Scanner's
+    // regular expressions or a String per number
+    private static final class Input implements Closeable {
+        private final InputStream in;
+        private final byte[] buffer = new byte[1 << 16];
+        private int length;
+        private int position;
+
+        Input(InputStream in) {
+            this.in = in;
+        }
+
+        private int read() throws IOException {
+            if (position == length) {
+                length = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (length <= 0) {
+                    length = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private int skipSpace() throws IOException {
+            int c = read();
+            while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                c = read();
+            }
+            if (c == -1) {
+                throw new EOFException("Workload ended early");
+            }
+            return c;
+        }
+
+        int nextInt() throws IOException {
+            int c = skipSpace();
+            boolean negative = c == '-';
+            if (negative) {
+                c = read();
+            }
+            if (c < '0' || c > '9') {
+                throw new IOException("Expected a number, found '" + (char) c + "'");
+            }
+            long value = 0;
+            while (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (value > Integer.MAX_VALUE + 1L) {
+                    throw new IOException("Number out of range");
+                }
+                c = read();
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) {
+                throw new IOException("Number out of range");
+            }
+            return (int) value;
+        }
+
+        String next() throws IOException {
+            ByteArrayOutputStream token = new ByteArrayOutputStream(16);
+            int c = skipSpace();
+            while (c != -1 && c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                token.write(c);
+                c = read();
+            }
+            return token.toString(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
     }
 }
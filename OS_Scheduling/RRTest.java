@@ -0,0 +1,62 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RRTest {
+
+    private static final String WORKLOAD = "4 3 1\n"
+            + "P1 0 7\n"
+            + "P2 2 4\n"
+            + "P3 2 1\n"
+            + "P4 20 5\n";
+
+    // Runs RR.main with the given bytes on stdin and returns what it printed
+    private static String run(String[] args, byte[] input) throws IOException {
+        InputStream in = System.in;
+        PrintStream out = System.out;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        try {
+            System.setIn(new ByteArrayInputStream(input));
+            System.setOut(new PrintStream(printed, true, StandardCharsets.UTF_8));
+            RR.main(args);
+        } finally {
+            System.setIn(in);
+            System.setOut(out);
+        }
+        return printed.toString(StandardCharsets.UTF_8);
+    }
+
+    // Everything from the schedule on; the interactive path prints its prompts first
+    private static String report(String output) {
+        int start = output.indexOf("Execution Order:");
+        assertTrue(start >= 0, "no schedule in: " + output);
+        return output.substring(start);
+    }
+
+    @Test
+    void batchPrintsWhatThePromptsWould() throws IOException {
+        byte[] input = WORKLOAD.getBytes(StandardCharsets.US_ASCII);
+        String interactive = report(run(new String[0], input));
+        String batch = report(run(new String[] {"-"}, input));
+
+        assertEquals(interactive, batch);
+        assertTrue(batch.contains("[P1, P1, P2, P3, P1, P2, P4, P4]"), batch);
+    }
+
+    @Test
+    void batchReadsBytesAbove0x7FInNames() throws IOException {
+        // 0xFF is not EOF and must not end the name early
+        byte[] input = {'1', ' ', '2', ' ', '0', '\n', 'A', (byte) 0xFF, 'B', ' ', '0', ' ', '3', '\n'};
+        String batch = report(run(new String[] {"-"}, input));
+
+        assertTrue(batch.contains("[A\uFFFDB, A\uFFFDB]"), batch);
+        assertTrue(batch.contains("A\uFFFDB -> Waiting Time: 0 , Turn Around Time: 3"), batch);
+    }
+}
@@ -0,0 +1,219 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Results of table runs kept for reuse: the most recently used ones in memory, up to
+// maxBytes of them, and optionally every one in a directory. Entries are keyed by the
+// SHA-256 of the scheduler's class, its settings as its toString() gives them, and every
+// row of the table, so a hit is a result of the same scheduler over the same jobs; a
+// scheduler whose toString() does not give its settings only hits on the same instance.
+// Both tiers hold the encoding checkpoints use, gzip-compressed on disk, and every hit
+// decodes a result of its own for the caller. Thread-safe; concurrent misses on one key
+// may each run.
+public class ResultCache {
+
+    private static final int MAGIC = 0x4F535243;
+    private static final int VERSION = 1;
+
+    private final long maxBytes;
+    private final Path directory;
+
+    // In access order, eldest first; guarded by this
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long diskHits;
+    private long misses;
+
+    public ResultCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Memory bound must not be negative: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.directory = null;
+    }
+
+    // Also keeps every result in the directory, which other caches and later processes share
+    public ResultCache(long maxBytes, Path directory) throws IOException {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Memory bound must not be negative: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.directory = Files.createDirectories(directory);
+    }
+
+    public SchedulerResult run(CPUScheduler scheduler, List<Process> processes) {
+        return run(scheduler, ProcessTable.from(processes));
+    }
+
+    public SchedulerResult run(CPUScheduler scheduler, ProcessTable table) {
+        String key = key(scheduler, table);
+        byte[] encoded = lookup(key, true);
+        if (encoded != null) {
+            return decode(encoded, table);
+        }
+        SchedulerResult result = scheduler.run(table);
+        encoded = encode(result);
+        remember(key, encoded);
+        if (directory != null) {
+            write(key, encoded);
+        }
+        return result;
+    }
+
+    // Whether the cached result, if there is one, is exactly what a fresh run gives
+    public boolean verify(CPUScheduler scheduler, ProcessTable table) {
+        byte[] encoded = lookup(key(scheduler, table), false);
+        return encoded == null || Arrays.equals(encoded, encode(scheduler.run(table)));
+    }
+
+    // Hits from either tier
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long diskHits() {
+        return diskHits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    // Bytes of results held in memory
+    public synchronized long memoryBytes() {
+        return bytes;
+    }
+
+    static String key(CPUScheduler scheduler, ProcessTable table) {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        sha.update(scheduler.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        sha.update((byte) 0);
+        sha.update(scheduler.toString().getBytes(StandardCharsets.UTF_8));
+        sha.update((byte) 0);
+        sha.update(table.digest());
+        return HexFormat.of().formatHex(sha.digest());
+    }
+
+    private byte[] lookup(String key, boolean count) {
+        synchronized (this) {
+            byte[] encoded = memory.get(key);
+            if (encoded != null) {
+                if (count) {
+                    hits++;
+                }
+                return encoded;
+            }
+        }
+        byte[] encoded = directory == null ? null : read(key);
+        synchronized (this) {
+            if (encoded != null && count) {
+                hits++;
+                diskHits++;
+            } else if (count) {
+                misses++;
+            }
+        }
+        if (encoded != null) {
+            remember(key, encoded);
+        }
+        return encoded;
+    }
+
+    private synchronized void remember(String key, byte[] encoded) {
+        if (encoded.length > maxBytes) {
+            return;
+        }
+        byte[] previous = memory.put(key, encoded);
+        bytes += encoded.length - (previous == null ? 0 : previous.length);
+        Iterator<Map.Entry<String, byte[]>> eldest = memory.entrySet().iterator();
+        while (bytes > maxBytes) {
+            bytes -= eldest.next().getValue().length;
+            eldest.remove();
+        }
+    }
+
+    // Null when missing, unreadable or not this key's; a later miss overwrites it
+    private byte[] read(String key) {
+        Path file = directory.resolve(key + ".result");
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 1 << 16)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !in.readUTF().equals(key)) {
+                return null;
+            }
+            byte[] encoded = new byte[in.readInt()];
+            in.readFully(encoded);
+            return encoded;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Written beside its file and moved into place, so readers never see part of one
+    private void write(String key, byte[] encoded) {
+        Path file = directory.resolve(key + ".result");
+        try {
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temp), 1 << 16)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(key);
+                out.writeInt(encoded.length);
+                out.write(encoded);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] encode(SchedulerResult result) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            result.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static SchedulerResult decode(byte[] encoded, ProcessTable table) {
+        SchedulerResult result = new SchedulerResult(table);
+        try {
+            result.readFrom(new DataInputStream(new ByteArrayInputStream(encoded)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+}
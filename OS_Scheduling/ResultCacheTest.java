@@ -0,0 +1,80 @@
+import org.example.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultCacheTest {
+
+    // Short bursts, so results under nearby quanta are about the same size
+    private static ProcessTable workload(long seed) {
+        return Fixtures.table(Fixtures.workload(seed).count(200).poisson(0.2).exponential(4));
+    }
+
+    @Test
+    void hitsOnlyForTheSameSchedulerSettingsAndJobs() {
+        ResultCache cache = new ResultCache(1 << 20);
+        ProcessTable table = workload(1);
+
+        SchedulerResult first = cache.run(new AGScheduler(), table);
+        SchedulerResult again = cache.run(new AGScheduler(), workload(1));
+        assertEquals(1, cache.hits());
+        assertTrue(first != again);
+        Fixtures.assertSameResult(new AGScheduler().run(table), again);
+
+        cache.run(new RoundRobinScheduler(3, 1), table);
+        cache.run(new RoundRobinScheduler(4, 1), table);
+        cache.run(new RoundRobinScheduler(3, 1), workload(2));
+        assertEquals(1, cache.hits());
+        assertEquals(4, cache.misses());
+        Fixtures.assertSameResult(new RoundRobinScheduler(4, 1).run(table), cache.run(new RoundRobinScheduler(4, 1), table));
+        assertEquals(2, cache.hits());
+        assertTrue(cache.verify(new RoundRobinScheduler(4, 1), table));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedPastTheMemoryBound() {
+        ProcessTable table = workload(3);
+        ResultCache probe = new ResultCache(1 << 20);
+        probe.run(new RoundRobinScheduler(2, 0), table);
+        long size = probe.memoryBytes();
+
+        // Room for two results of about this size
+        ResultCache cache = new ResultCache(size * 5 / 2);
+        cache.run(new RoundRobinScheduler(2, 0), table);
+        cache.run(new RoundRobinScheduler(3, 0), table);
+        cache.run(new RoundRobinScheduler(2, 0), table);
+        cache.run(new RoundRobinScheduler(4, 0), table);
+        assertTrue(cache.memoryBytes() <= size * 5 / 2);
+
+        cache.run(new RoundRobinScheduler(2, 0), table);
+        assertEquals(2, cache.hits());
+        cache.run(new RoundRobinScheduler(3, 0), table);
+        assertEquals(2, cache.hits());
+    }
+
+    @Test
+    void diskTierOutlivesTheCacheAndSkipsDamagedFiles() throws IOException {
+        Path dir = Files.createTempDirectory("results");
+        ProcessTable table = workload(4);
+        CPUScheduler scheduler = MLFQScheduler.doubling(3, 2, 40, 1);
+        SchedulerResult fresh = new ResultCache(0, dir).run(scheduler, table);
+
+        ResultCache reopened = new ResultCache(0, dir);
+        Fixtures.assertSameResult(fresh, reopened.run(scheduler, table));
+        assertEquals(1, reopened.diskHits());
+
+        try (var files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.write(file, new byte[]{1, 2, 3});
+            }
+        }
+        ResultCache damaged = new ResultCache(0, dir);
+        Fixtures.assertSameResult(fresh, damaged.run(scheduler, table));
+        assertEquals(0, damaged.hits());
+        Fixtures.assertSameResult(fresh, new ResultCache(0, dir).run(scheduler, table));
+    }
+}
@@ -1,8 +1,10 @@
 package org.example;
 
-import java.util.*;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
-public class RoundRobinScheduler {
+public class RoundRobinScheduler extends CPUScheduler {
 
     private final int quantum;
     private final int contextSwitch;
@@ -12,69 +14,64 @@ public class RoundRobinScheduler {
         this.contextSwitch = contextSwitch;
     }
 
-    public SchedulerResult run(List<Process> processes) {
-
-        SchedulerResult result = new SchedulerResult();
-
-        // Sort by arrival
-        processes.sort(Comparator.comparingInt(p -> p.arrival));
+    @Override
+    public String toString() {
+        return "RoundRobinScheduler(quantum=" + quantum + ", contextSwitch=" + contextSwitch + ")";
+    }
 
-        Queue<Process> ready = new LinkedList<>();
-        int time = 0;
-        int completed = 0;
+    @Override
+    protected SchedulingPolicy newPolicy(ProcessTable table, RunState state, ScheduleListener listener) {
 
-        while (completed < processes.size()) {
+        // Every process enters the queue once on arrival and again after each
+        // expired slice, ahead of anything that arrived while it was running:
+        // those arrivals are only admitted at the next dispatch.
+        IntQueue ready = new IntQueue();
 
-            // Add arrivals
-            for (Process p : processes) {
-                if (p.arrival <= time && p.remaining > 0 && !ready.contains(p)) {
-                    ready.add(p);
-                }
+        return new SchedulingPolicy() {
+            @Override
+            public void admit(int job, int time) {
+                ready.add(job);
             }
 
-            // CPU idle
-            if (ready.isEmpty()) {
-                time++;
-                continue;
+            @Override
+            public int select(int time) {
+                return ready.poll();
             }
 
-            Process current = ready.poll();
-            result.executionOrder.add(current.name);
-
-            int exec = Math.min(quantum, current.remaining);
-            current.remaining -= exec;
-            time += exec;
-
-            if (current.remaining == 0) {
-                current.completionTime = time;
-                completed++;
-            } else {
-                ready.add(current);
+            @Override
+            public int slice(int job, int time) {
+                return quantum;
             }
 
-            // Context switch if work remains
-            if (completed < processes.size()) {
-                time += contextSwitch;
+            @Override
+            public int readyCount() {
+                return ready.size();
             }
-        }
-
-        // Calculate metrics
-        double totalWT = 0, totalTAT = 0;
 
-        for (Process p : processes) {
-            int tat = p.completionTime - p.arrival;
-            int wt = tat - p.burst;
-
-            result.turnaroundTime.put(p.name, tat);
-            result.waitingTime.put(p.name, wt);
+            // The tail is the job that would wait longest here
+            @Override
+            public int steal(int time) {
+                return ready.pollLast();
+            }
 
-            totalWT += wt;
-            totalTAT += tat;
-        }
+            @Override
+            public int release(int job, Release reason, int time, boolean workRemains) {
+                if (reason != Release.COMPLETED) {
+                    ready.add(job);
+                }
+                // Context switch if work remains
+                return workRemains ? contextSwitch : 0;
+            }
 
-        result.averageWaitingTime = totalWT / processes.size();
-        result.averageTurnaroundTime = totalTAT / processes.size();
+            @Override
+            public void save(DataOutput out) throws IOException {
+                ready.writeTo(out);
+            }
 
-        return result;
+            @Override
+            public void restore(DataInput in) throws IOException {
+                ready.readFrom(in);
+            }
+        };
     }
 }
@@ -0,0 +1,72 @@
+package org.example;
+
+// Everything a single run mutates, kept apart from the workload so the same
+// ProcessTable can be simulated by any number of runs at once. Indexed by slot;
+// the Simulator fills a slot's entries when its job is admitted.
+public class RunState {
+
+    public final int[] remaining;
+    public final int[] completion;
+    public final int[] firstRun;
+
+    // Listener id of the job in each slot, and its position in arrival order
+    public final int[] id;
+    public final int[] rank;
+
+    // Jobs admitted and not yet completed, linked in arrival order by the single-CPU
+    // simulator, so a snapshot of the run need only hold these
+    private final int[] nextLive;
+    private final int[] prevLive;
+    private int firstLive = -1;
+    private int lastLive = -1;
+
+    public RunState(int slots) {
+        remaining = new int[slots];
+        completion = new int[slots];
+        firstRun = new int[slots];
+        id = new int[slots];
+        rank = new int[slots];
+        nextLive = new int[slots];
+        prevLive = new int[slots];
+    }
+
+    void link(int job) {
+        prevLive[job] = lastLive;
+        nextLive[job] = -1;
+        if (lastLive == -1) {
+            firstLive = job;
+        } else {
+            nextLive[lastLive] = job;
+        }
+        lastLive = job;
+    }
+
+    void unlink(int job) {
+        int prev = prevLive[job];
+        int next = nextLive[job];
+        if (prev == -1) {
+            firstLive = next;
+        } else {
+            nextLive[prev] = next;
+        }
+        if (next == -1) {
+            lastLive = prev;
+        } else {
+            prevLive[next] = prev;
+        }
+    }
+
+    void clearLive() {
+        firstLive = lastLive = -1;
+    }
+
+    // First live job, or -1
+    int firstLive() {
+        return firstLive;
+    }
+
+    // Live job after this one, or -1
+    int nextLive(int job) {
+        return nextLive[job];
+    }
+}
@@ -0,0 +1,34 @@
+package org.example;
+
+// Receives a scheduler's decisions as they happen, so a run never has to hold its
+// whole schedule in memory. A slice opened by onDispatch is closed by the next
+// onPreempt or onComplete for the same job; ranges are [start, end) in simulated time.
+public interface ScheduleListener {
+
+    ScheduleListener NONE = new ScheduleListener() {
+    };
+
+    default void onDispatch(int process, int time) {
+    }
+
+    default void onPreempt(int process, int time) {
+    }
+
+    default void onContextSwitch(int start, int end) {
+    }
+
+    default void onIdle(int start, int end) {
+    }
+
+    // response is the delay between arrival and the first dispatch
+    default void onComplete(int process, int time, int turnaround, int waiting, int response) {
+    }
+
+    // Multi-core runs: an idle core took a ready job from another core's run queue
+    default void onMigrate(int process, int fromCore, int toCore, int time) {
+    }
+
+    // Quantum the job will get on its next dispatch (AG), reported once on arrival and after every change
+    default void onQuantumUpdate(int process, int quantum) {
+    }
+}
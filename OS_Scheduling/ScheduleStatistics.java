@@ -0,0 +1,226 @@
+package org.example;
+
+import java.util.Arrays;
+
+// Online summary of a run, updated as each job completes. Memory is fixed by the
+// configuration, never by the number of jobs, so it can watch a streamed run of any
+// length. Throughput is completions per time unit over each sliding window, measured
+// in simulated time and kept both at its latest and at its peak value; window lengths are
+// rounded up to a multiple of 64.
+public class ScheduleStatistics implements ScheduleListener {
+
+    public final Metric waiting = new Metric();
+    public final Metric turnaround = new Metric();
+    public final Metric response = new Metric();
+
+    private final SlidingWindow[] windows;
+    private long dispatches;
+    private long preemptions;
+    private int makespan;
+    private double slowdownSum;
+    private double slowdownSquares;
+
+    // Default windows of 100 and 10000 time units
+    public ScheduleStatistics() {
+        this(100, 10_000);
+    }
+
+    public ScheduleStatistics(int... windowLengths) {
+        windows = new SlidingWindow[windowLengths.length];
+        for (int i = 0; i < windowLengths.length; i++) {
+            windows[i] = new SlidingWindow(windowLengths[i]);
+        }
+    }
+
+    @Override
+    public void onDispatch(int process, int time) {
+        dispatches++;
+    }
+
+    @Override
+    public void onPreempt(int process, int time) {
+        preemptions++;
+    }
+
+    @Override
+    public void onComplete(int process, int time, int turnaround, int waiting, int response) {
+        this.waiting.record(waiting);
+        this.turnaround.record(turnaround);
+        this.response.record(response);
+        double slowdown = (double) turnaround / Math.max(1, turnaround - waiting);
+        slowdownSum += slowdown;
+        slowdownSquares += slowdown * slowdown;
+        makespan = Math.max(makespan, time);
+        for (SlidingWindow window : windows) {
+            window.record(time);
+        }
+    }
+
+    public long completed() {
+        return waiting.count();
+    }
+
+    public long dispatches() {
+        return dispatches;
+    }
+
+    public long preemptions() {
+        return preemptions;
+    }
+
+    public int makespan() {
+        return makespan;
+    }
+
+    // Completions per time unit over the whole run
+    public double throughput() {
+        return makespan == 0 ? 0 : (double) completed() / makespan;
+    }
+
+    // Completions per time unit over the window ending at the last completion
+    public double throughput(int windowLength) {
+        return window(windowLength).rate();
+    }
+
+    // Highest throughput seen over any window of this length ending at a completion
+    public double peakThroughput(int windowLength) {
+        return window(windowLength).peak();
+    }
+
+    // Jain's index over the slowdowns (turnaround / burst): 1 when every job is stretched
+    // alike, down towards 1/n when a few jobs take all the delay
+    public double fairness() {
+        return slowdownSquares == 0 ? 1 : slowdownSum * slowdownSum / (completed() * slowdownSquares);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder()
+                .append("completed=").append(completed())
+                .append(" makespan=").append(makespan)
+                .append(" throughput=").append(String.format("%.4f", throughput()))
+                .append(" fairness=").append(String.format("%.4f", fairness()));
+        for (SlidingWindow window : windows) {
+            s.append(String.format(" throughput[%d]=%.4f (peak %.4f)", window.length, window.rate(), window.peak()));
+        }
+        return s.append("\nwaiting    ").append(waiting)
+                .append("\nturnaround ").append(turnaround)
+                .append("\nresponse   ").append(response)
+                .toString();
+    }
+
+    private SlidingWindow window(int length) {
+        for (SlidingWindow window : windows) {
+            if (window.length == length) {
+                return window;
+            }
+        }
+        throw new IllegalArgumentException("No window of length " + length
+                + "; configured: " + Arrays.toString(Arrays.stream(windows).mapToInt(w -> w.length).toArray()));
+    }
+
+    // Mean and variance by Welford's update, tails from a LogHistogram
+    public static final class Metric {
+        private final LogHistogram histogram = new LogHistogram();
+        private long count;
+        private double mean;
+        private double m2;
+
+        void record(int value) {
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+            histogram.record(Math.max(0, value));
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public double mean() {
+            return mean;
+        }
+
+        // Population variance
+        public double variance() {
+            return count == 0 ? 0 : m2 / count;
+        }
+
+        public double standardDeviation() {
+            return Math.sqrt(variance());
+        }
+
+        public int percentile(double p) {
+            return histogram.percentile(p);
+        }
+
+        public int p50() {
+            return histogram.percentile(50);
+        }
+
+        public int p95() {
+            return histogram.percentile(95);
+        }
+
+        public int p99() {
+            return histogram.percentile(99);
+        }
+
+        public int max() {
+            return histogram.max();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("mean=%.2f sd=%.2f p50=%d p95=%d p99=%d max=%d",
+                    mean, standardDeviation(), p50(), p95(), p99(), max());
+        }
+    }
+
+    // Completion counts in a ring of fixed-width buckets covering the window. Completions
+    // come in time order, so buckets only ever expire from the old end.
+    private static final class SlidingWindow {
+        private static final int SLOTS = 64;
+
+        final int length;
+        private final int width;
+        private final long[] counts = new long[SLOTS];
+        private long current = -1;
+        private long sum;
+        private double peak;
+
+        SlidingWindow(int length) {
+            if (length <= 0) {
+                throw new IllegalArgumentException("Window length must be positive: " + length);
+            }
+            this.length = length;
+            this.width = Math.max(1, (length + SLOTS - 1) / SLOTS);
+        }
+
+        void record(int time) {
+            long bucket = time / width;
+            if (current == -1) {
+                current = bucket;
+            }
+            // Expire buckets that fall out of the window as it slides forward
+            for (long b = current + 1; b <= bucket && b <= current + SLOTS; b++) {
+                int slot = (int) (b % SLOTS);
+                sum -= counts[slot];
+                counts[slot] = 0;
+            }
+            current = Math.max(current, bucket);
+            counts[(int) (bucket % SLOTS)]++;
+            sum++;
+            peak = Math.max(peak, rate());
+        }
+
+        double rate() {
+            return (double) sum / ((long) width * SLOTS);
+        }
+
+        double peak() {
+            return peak;
+        }
+    }
+}
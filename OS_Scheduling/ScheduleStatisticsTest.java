@@ -0,0 +1,63 @@
+import org.example.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleStatisticsTest {
+
+    @Test
+    void histogramPercentilesStayWithinBucketPrecision() {
+        Random random = new Random(7);
+        LogHistogram histogram = new LogHistogram();
+        int[] values = new int[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (int) Math.min(Integer.MAX_VALUE, Math.exp(random.nextGaussian() * 3 + 5));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double p : new double[]{50, 90, 95, 99, 99.9}) {
+            int exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            int estimate = histogram.percentile(p);
+            assertTrue(estimate >= exact, "p" + p + " below exact value");
+            assertTrue(estimate <= exact * 1.008 + 1, "p" + p + " off by more than 0.8%");
+        }
+        assertEquals(values[values.length - 1], histogram.percentile(100));
+        assertEquals(values[0], histogram.min());
+    }
+
+    @Test
+    @Timeout(5)
+    void onlineMomentsMatchTheFullResult() {
+        ProcessTable table = new ProcessTable();
+        new WorkloadGenerator(3).count(20_000).poisson(0.08).pareto(1.5, 4)
+                .forEachRemaining(p -> table.add(p.name, p.arrival, p.burst, p.priority, p.quantum));
+
+        CPUScheduler scheduler = new RoundRobinScheduler(4, 1);
+        SchedulerResult result = scheduler.run(table);
+        ScheduleStatistics statistics = new ScheduleStatistics(1_000);
+        scheduler.run(table, statistics);
+
+        double mean = 0, variance = 0;
+        for (int w : result.waiting) {
+            mean += w;
+        }
+        mean /= table.size();
+        for (int w : result.waiting) {
+            variance += (w - mean) * (w - mean);
+        }
+        variance /= table.size();
+
+        assertEquals(table.size(), statistics.completed());
+        assertEquals(result.averageWaitingTime, statistics.waiting.mean(), 1e-6);
+        assertEquals(result.averageTurnaroundTime, statistics.turnaround.mean(), 1e-6);
+        assertEquals(variance, statistics.waiting.variance(), variance * 1e-9);
+        assertEquals(Arrays.stream(result.waiting).max().getAsInt(), statistics.waiting.max());
+        assertEquals(result.timeline.dispatchCount(), statistics.dispatches());
+        assertTrue(statistics.peakThroughput(1_000) >= statistics.throughput(1_000));
+    }
+}
@@ -0,0 +1,148 @@
+package org.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Always-on totals over the runs of this JVM: single-CPU and multi-core simulations and
+// PolicyExecutors. A run keeps its own counts in plain fields and hands what they grew by
+// to its Run every few thousand events and once more when it ends, however it ends, so
+// the simulation loop pays no more than an increment and the sample Flight Recorder takes
+// every second, as org.example.SchedulerCounters, includes the runs still going.
+public final class SchedulerCounters {
+
+    private static final LongAdder runs = new LongAdder();
+    private static final LongAdder jobs = new LongAdder();
+    private static final LongAdder heapOperations = new LongAdder();
+    private static final LongAdder idleTime = new LongAdder();
+    private static final LongAdder simulatedTime = new LongAdder();
+    private static final LongAdder wallNanos = new LongAdder();
+    private static final AtomicInteger readyHighWater = new AtomicInteger();
+
+    static {
+        FlightRecorder.addPeriodicEvent(Sample.class, () -> {
+            Sample sample = new Sample();
+            sample.runs = runs();
+            sample.jobs = jobs();
+            sample.readyHighWater = readyHighWater();
+            sample.heapOperations = heapOperations();
+            sample.idleTime = idleTime();
+            sample.wallNanosPerTimeUnit = wallNanosPerTimeUnit();
+            sample.commit();
+        });
+    }
+
+    private SchedulerCounters() {
+    }
+
+    @Name("org.example.SchedulerCounters")
+    @Label("Scheduler Counters")
+    @Category("OS Scheduling")
+    @Period("1 s")
+    static final class Sample extends Event {
+        @Label("Runs")
+        long runs;
+        @Label("Jobs")
+        long jobs;
+        @Label("Ready Queue High-Water Mark")
+        int readyHighWater;
+        @Label("Heap Operations")
+        long heapOperations;
+        @Label("Idle Time")
+        long idleTime;
+        @Label("Wall Nanoseconds per Simulated Time Unit")
+        double wallNanosPerTimeUnit;
+    }
+
+    // One run's share of the totals: what its counts were when last handed over
+    static final class Run {
+        private long jobs;
+        private int readyHighWater;
+        private long heapOperations;
+        private long idleTime;
+        private long time;
+        private long nanos = System.nanoTime();
+
+        // Starting at this simulated time
+        Run(long time) {
+            this.time = time;
+        }
+
+        // Add what the run's counts grew by since the last call; each is a total from the start
+        void publish(long jobs, int readyHighWater, long heapOperations, long idleTime, long time) {
+            long now = System.nanoTime();
+            SchedulerCounters.jobs.add(jobs - this.jobs);
+            if (readyHighWater > this.readyHighWater) {
+                SchedulerCounters.readyHighWater.accumulateAndGet(readyHighWater, Math::max);
+            }
+            SchedulerCounters.heapOperations.add(heapOperations - this.heapOperations);
+            SchedulerCounters.idleTime.add(idleTime - this.idleTime);
+            SchedulerCounters.simulatedTime.add(time - this.time);
+            SchedulerCounters.wallNanos.add(now - nanos);
+            this.jobs = jobs;
+            this.readyHighWater = readyHighWater;
+            this.heapOperations = heapOperations;
+            this.idleTime = idleTime;
+            this.time = time;
+            this.nanos = now;
+        }
+
+        // The last publish, counting the run
+        void end(long jobs, int readyHighWater, long heapOperations, long idleTime, long time) {
+            publish(jobs, readyHighWater, heapOperations, idleTime, time);
+            runs.increment();
+        }
+    }
+
+    // Runs that have ended
+
+    public static long runs() {
+        return runs.sum();
+    }
+
+    public static long jobs() {
+        return jobs.sum();
+    }
+
+    // Most jobs ever ready at once in one run
+    public static int readyHighWater() {
+        return readyHighWater.get();
+    }
+
+    // Adds, polls, removals and re-sifts on the event queues and on the heaps the policies
+    // and the multi-core simulator keep
+    public static long heapOperations() {
+        return heapOperations.sum();
+    }
+
+    // Simulated time CPUs spent waiting for work, summed over the cores of multi-core runs
+    public static long idleTime() {
+        return idleTime.sum();
+    }
+
+    public static long simulatedTime() {
+        return simulatedTime.sum();
+    }
+
+    // Wall-clock cost of simulating one unit of time, over all runs
+    public static double wallNanosPerTimeUnit() {
+        long simulated = simulatedTime();
+        return simulated == 0 ? 0 : (double) wallNanos.sum() / simulated;
+    }
+
+    public static void reset() {
+        runs.reset();
+        jobs.reset();
+        heapOperations.reset();
+        idleTime.reset();
+        simulatedTime.reset();
+        wallNanos.reset();
+        readyHighWater.set(0);
+    }
+}
@@ -0,0 +1,188 @@
+package org.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Flight Recorder events for what a run decides, so a slow or surprising replay can be
+// looked at in JDK Mission Control. A run checks when it starts whether any decision event
+// is enabled and only then routes its listener through here, so runs outside a recording
+// pay nothing. Times in the fields are simulated; the events' own timestamps are wall time.
+final class SchedulerEvents {
+
+    private static final EventType[] DECISIONS = {
+            EventType.getEventType(Dispatch.class), EventType.getEventType(Preempt.class),
+            EventType.getEventType(ContextSwitch.class), EventType.getEventType(Idle.class)
+    };
+
+    private SchedulerEvents() {
+    }
+
+    @Name("org.example.Dispatch")
+    @Label("Dispatch")
+    @Category({"OS Scheduling", "Decisions"})
+    @Description("A job gets the CPU")
+    static final class Dispatch extends Event {
+        @Label("Process")
+        int process;
+        @Label("Time")
+        int time;
+    }
+
+    @Name("org.example.Preempt")
+    @Label("Preempt")
+    @Category({"OS Scheduling", "Decisions"})
+    @Description("A job leaves the CPU with work left, its slice used up or another job preferred")
+    static final class Preempt extends Event {
+        @Label("Process")
+        int process;
+        @Label("Time")
+        int time;
+    }
+
+    @Name("org.example.ContextSwitch")
+    @Label("Context Switch")
+    @Category({"OS Scheduling", "Decisions"})
+    static final class ContextSwitch extends Event {
+        @Label("Start")
+        int start;
+        @Label("End")
+        int end;
+    }
+
+    @Name("org.example.Idle")
+    @Label("Idle")
+    @Category({"OS Scheduling", "Decisions"})
+    @Description("The CPU waits for the next arrival")
+    static final class Idle extends Event {
+        @Label("Start")
+        int start;
+        @Label("End")
+        int end;
+    }
+
+    @Name("org.example.QuantumUpdate")
+    @Label("Quantum Update")
+    @Category({"OS Scheduling", "Decisions"})
+    @Description("AG sets the quantum a job gets on its next dispatch")
+    static final class QuantumUpdate extends Event {
+        @Label("Process")
+        int process;
+        @Label("Previous")
+        int previous;
+        @Label("Quantum")
+        int quantum;
+        @Label("Rule")
+        String rule;
+    }
+
+    @Name("org.example.Run")
+    @Label("Scheduler Run")
+    @Category("OS Scheduling")
+    @Description("A simulated run from start to finish, on one CPU or several")
+    static final class Run extends Event {
+        @Label("Policy")
+        String policy;
+        @Label("Jobs")
+        int jobs;
+        @Label("Simulated Time")
+        int simulatedTime;
+        @Label("Ready Queue High-Water Mark")
+        int readyHighWater;
+        @Label("Heap Operations")
+        long heapOperations;
+        @Label("Idle Time")
+        long idleTime;
+    }
+
+    static void quantumUpdate(int process, int previous, int quantum, String rule) {
+        QuantumUpdate event = new QuantumUpdate();
+        if (event.isEnabled()) {
+            event.process = process;
+            event.previous = previous;
+            event.quantum = quantum;
+            event.rule = rule;
+            event.commit();
+        }
+    }
+
+    // The listener, also reporting decisions to Flight Recorder if it is recording any
+    static ScheduleListener wrap(ScheduleListener listener) {
+        for (EventType type : DECISIONS) {
+            if (type.isEnabled()) {
+                return new Recording(listener);
+            }
+        }
+        return listener;
+    }
+
+    private static final class Recording implements ScheduleListener {
+        private final ScheduleListener listener;
+
+        Recording(ScheduleListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void onDispatch(int process, int time) {
+            Dispatch event = new Dispatch();
+            if (event.isEnabled()) {
+                event.process = process;
+                event.time = time;
+                event.commit();
+            }
+            listener.onDispatch(process, time);
+        }
+
+        @Override
+        public void onPreempt(int process, int time) {
+            Preempt event = new Preempt();
+            if (event.isEnabled()) {
+                event.process = process;
+                event.time = time;
+                event.commit();
+            }
+            listener.onPreempt(process, time);
+        }
+
+        @Override
+        public void onContextSwitch(int start, int end) {
+            ContextSwitch event = new ContextSwitch();
+            if (event.isEnabled()) {
+                event.start = start;
+                event.end = end;
+                event.commit();
+            }
+            listener.onContextSwitch(start, end);
+        }
+
+        @Override
+        public void onIdle(int start, int end) {
+            Idle event = new Idle();
+            if (event.isEnabled()) {
+                event.start = start;
+                event.end = end;
+                event.commit();
+            }
+            listener.onIdle(start, end);
+        }
+
+        @Override
+        public void onComplete(int process, int time, int turnaround, int waiting, int response) {
+            listener.onComplete(process, time, turnaround, waiting, response);
+        }
+
+        @Override
+        public void onMigrate(int process, int fromCore, int toCore, int time) {
+            listener.onMigrate(process, fromCore, toCore, time);
+        }
+
+        @Override
+        public void onQuantumUpdate(int process, int quantum) {
+            listener.onQuantumUpdate(process, quantum);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+import org.example.*;
+import org.example.Process;
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchedulerEventsTest {
+
+    private static ProcessTable workload() {
+        List<Process> jobs = new ArrayList<>();
+        new WorkloadGenerator(5).count(100).bursty(0.5, 0.02, 10, 60).exponential(6).priorities(1, 8)
+                .quanta(2, 5).forEachRemaining(jobs::add);
+        return ProcessTable.from(jobs);
+    }
+
+    @Test
+    void recordsEveryDecisionOfARun() throws Exception {
+        ProcessTable table = workload();
+        SchedulerResult result;
+        Path file = Files.createTempFile("run", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("Dispatch", "Preempt", "ContextSwitch", "Idle", "QuantumUpdate", "Run")) {
+                recording.enable("org.example." + name);
+            }
+            recording.start();
+            result = new AGScheduler().run(table);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        int completedRules = 0;
+        RecordedEvent run = null;
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            String name = event.getEventType().getName();
+            counts.merge(name, 1, Integer::sum);
+            if (name.equals("org.example.QuantumUpdate") && event.getString("rule").equals("completed")) {
+                completedRules++;
+            }
+            if (name.equals("org.example.Run")) {
+                run = event;
+            }
+        }
+        Files.delete(file);
+
+        assertEquals(result.timeline.dispatchCount(), counts.get("org.example.Dispatch"));
+        int updates = 0;
+        for (List<Integer> history : result.quantumHistory.values()) {
+            updates += history.size();
+        }
+        assertEquals(updates, counts.get("org.example.QuantumUpdate"));
+        assertEquals(table.size(), completedRules);
+        assertNotNull(run);
+        assertEquals(table.size(), run.getInt("jobs"));
+        assertEquals(new AGScheduler().toString(), run.getString("policy"));
+        assertTrue(run.getLong("heapOperations") > 0);
+    }
+
+    @Test
+    void countersAddUpOverRuns() {
+        ProcessTable table = workload();
+        SchedulerCounters.reset();
+        new RoundRobinScheduler(3, 1).run(table);
+        new RoundRobinScheduler(3, 1).run(table);
+
+        assertEquals(2, SchedulerCounters.runs());
+        assertEquals(2L * table.size(), SchedulerCounters.jobs());
+        assertTrue(SchedulerCounters.readyHighWater() > 0);
+        assertTrue(SchedulerCounters.heapOperations() >= 4L * table.size());
+        assertTrue(SchedulerCounters.idleTime() > 0);
+        assertTrue(SchedulerCounters.wallNanosPerTimeUnit() > 0);
+    }
+
+    @Test
+    void heapOperationsIncludeThePolicysHeaps() {
+        ProcessTable table = workload();
+        SchedulerCounters.reset();
+        new ShortestJobFirstScheduler(1).run(table);
+
+        // SJF adds and polls every job on its heap besides the event queue's operations
+        assertTrue(SchedulerCounters.heapOperations() >= 4L * table.size() + 2L * table.size());
+    }
+
+    @Test
+    void countsRunsThatEndEarly() {
+        ProcessTable table = workload();
+        SchedulerCounters.reset();
+        RuntimeException stop = new RuntimeException("stop");
+        RuntimeException thrown = assertThrows(RuntimeException.class, () ->
+                new RoundRobinScheduler(3, 1).run(table, new ScheduleListener() {
+                    private int completed;
+
+                    @Override
+                    public void onComplete(int process, int time, int turnaround, int waiting, int response) {
+                        if (++completed == 10) {
+                            throw stop;
+                        }
+                    }
+                }));
+
+        assertSame(stop, thrown);
+        assertEquals(1, SchedulerCounters.runs());
+        assertTrue(SchedulerCounters.jobs() >= 10);
+    }
+
+    @Test
+    void publishesWhileARunIsGoing() {
+        List<Process> jobs = new ArrayList<>();
+        new WorkloadGenerator(5).count(5_000).poisson(0.2).exponential(4).forEachRemaining(jobs::add);
+        ProcessTable table = ProcessTable.from(jobs);
+        SchedulerCounters.reset();
+        long[] seen = new long[2];
+        new RoundRobinScheduler(3, 1).run(table, new ScheduleListener() {
+            private int completed;
+
+            @Override
+            public void onComplete(int process, int time, int turnaround, int waiting, int response) {
+                if (++completed == table.size()) {
+                    seen[0] = SchedulerCounters.runs();
+                    seen[1] = SchedulerCounters.jobs();
+                }
+            }
+        });
+
+        // The last job completes before the run is counted, but well after thousands of events
+        assertEquals(0, seen[0]);
+        assertTrue(seen[1] > 0);
+        assertEquals(1, SchedulerCounters.runs());
+        assertEquals(table.size(), SchedulerCounters.jobs());
+    }
+
+    @Test
+    void countsMultiCoreRunsAndExecutors() throws Exception {
+        ProcessTable table = workload();
+        SchedulerCounters.reset();
+        new RoundRobinScheduler(3, 1).run(table, new MultiCore(4), new ScheduleListener() { });
+        assertEquals(1, SchedulerCounters.runs());
+        assertEquals(table.size(), SchedulerCounters.jobs());
+        assertTrue(SchedulerCounters.heapOperations() > 0);
+
+        PolicyExecutor executor = new PolicyExecutor(new ShortestJobFirstScheduler(0), 2, 8);
+        for (int i = 0; i < 3; i++) {
+            executor.submit(() -> { }, 1, 0, 1);
+        }
+        assertEquals(1, SchedulerCounters.runs());
+        executor.close();
+        assertEquals(2, SchedulerCounters.runs());
+        assertEquals(table.size() + 3L, SchedulerCounters.jobs());
+    }
+}
@@ -1,3 +1,5 @@
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.*;
@@ -6,6 +8,7 @@ import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
 
@@ -22,6 +25,28 @@ public class SchedulerJsonTest {
         return values.isEmpty() ? 0 : (double) sum / values.size();
     }
 
+    // Top-level expectedOutput of the resource, or null. Only the fields left after the
+    // input section are built as a tree; the reader has skipped one written before input,
+    // so the whole file is read again as a tree for that
+    static JsonNode expectedOutput(ObjectMapper mapper, JsonParser parser, String fileName) throws IOException {
+        JsonNode expected = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (field.equals("expectedOutput")) {
+                expected = mapper.readTree(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (expected == null) {
+            try (InputStream in = SchedulerJsonTest.class.getClassLoader().getResourceAsStream(fileName)) {
+                expected = mapper.readTree(in).get("expectedOutput");
+            }
+        }
+        return expected;
+    }
+
     @ParameterizedTest
     @CsvSource({
             "test_1.json, Priority",
@@ -33,32 +58,27 @@ public class SchedulerJsonTest {
     @Timeout(5)
     void testSchedulersFromJson(String fileName, String schedulerType) throws Exception {
 
-        // 1️⃣ Load JSON
+        // 1️⃣ Stream the input section
         ObjectMapper mapper = new ObjectMapper();
+        List<Process> processes = new ArrayList<>();
         InputStream is = getClass().getClassLoader().getResourceAsStream(fileName);
         assertNotNull(is, "JSON file not found: " + fileName);
 
-        JsonNode root = mapper.readTree(is);
-        JsonNode input = root.get("input");
-        assertNotNull(input, "Input section missing in JSON");
+        int contextSwitch, agingInterval, rrQuantum;
+        JsonNode expectedRoot = null;
+        JsonParser parser = mapper.createParser(is);
+        try (WorkloadReader reader = new WorkloadReader(parser)) {
+            // 2️⃣ Load processes; a missing quantum defaults to rrQuantum
+            processes.addAll(reader.toList());
 
-        // 2️⃣ Read optional fields safely
-        int contextSwitch = input.has("contextSwitch") ? input.get("contextSwitch").asInt() : 0;
-        int agingInterval = input.has("agingInterval") ? input.get("agingInterval").asInt() : 0;
-        int rrQuantum = input.has("rrQuantum") ? input.get("rrQuantum").asInt() : 1;
+            // 3️⃣ Optional fields, known once the reader is exhausted
+            contextSwitch = reader.contextSwitch();
+            agingInterval = reader.agingInterval();
+            rrQuantum = reader.rrQuantum();
 
-        // 3️⃣ Load processes with quantum
-        List<Process> processes = new ArrayList<>();
-        for (JsonNode p : input.get("processes")) {
-            int quantum = p.has("quantum") ? p.get("quantum").asInt() : rrQuantum;
-            processes.add(new Process(
-                    p.get("name").asText(),
-                    p.get("arrival").asInt(),
-                    p.get("burst").asInt(),
-                    p.get("priority").asInt(),
-                    quantum
-            ));
+            expectedRoot = expectedOutput(mapper, parser, fileName);
         }
+        assertFalse(processes.isEmpty(), "Input processes missing in " + fileName);
 
         // 4️⃣ Run scheduler
         SchedulerResult result;
@@ -70,7 +90,6 @@ public class SchedulerJsonTest {
         }
 
         // 5️⃣ Handle expected output flexibly
-        JsonNode expectedRoot = root.get("expectedOutput");
         assertNotNull(expectedRoot, "Expected output missing in JSON");
 
         // If schedulerType exists in expectedOutput, use it; otherwise, assume expectedOutput is directly for this scheduler
@@ -1,10 +1,336 @@
 package org.example;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
 
-public class SchedulerResult {
-    public List<String> executionOrder = new ArrayList<>();
-    public Map<String, Integer> waitingTime = new HashMap<>();
-    public Map<String, Integer> turnaroundTime = new HashMap<>();
-}
+public class SchedulerResult implements ScheduleListener {
+    public final Timeline timeline = new Timeline();
+
+    // Per-job data indexed by process id
+    public String[] names;
+    public int[] waiting;
+    public int[] turnaround;
+    public int[] response;
+    public int[][] quanta;
+    public int[] quantaSize;
+
+    public double averageWaitingTime;
+    public double averageTurnaroundTime;
+
+    // Legacy views, generated from the data above only when read
+    public final List<String> executionOrder = new ExecutionOrderView();
+    public final Map<String, Integer> waitingTime = new MetricView(false);
+    public final Map<String, Integer> turnaroundTime = new MetricView(true);
+    public final Map<String, List<Integer>> quantumHistory = new QuantumHistoryView();
+
+    private Map<String, Integer> idsByName;
+    private int jobs;
+    private int completed;
+    private double totalWT, totalTAT;
+    private int openProcess = -1;
+    private int openStart;
+
+    public SchedulerResult() {
+        this(new String[0]);
+    }
+
+    public SchedulerResult(ProcessTable table) {
+        this(Arrays.copyOf(table.name, table.size()));
+    }
+
+    private SchedulerResult(String[] names) {
+        this.names = names;
+        this.jobs = names.length;
+        this.waiting = new int[jobs];
+        this.turnaround = new int[jobs];
+        this.response = new int[jobs];
+    }
+
+    @Override
+    public void onDispatch(int process, int time) {
+        closeSlice(time);
+        openProcess = process;
+        openStart = time;
+    }
+
+    @Override
+    public void onPreempt(int process, int time) {
+        closeSlice(time);
+    }
+
+    @Override
+    public void onComplete(int process, int time, int turnaround, int waiting, int response) {
+        closeSlice(time);
+        ensureCapacity(process);
+        this.turnaround[process] = turnaround;
+        this.waiting[process] = waiting;
+        this.response[process] = response;
+
+        completed++;
+        totalWT += waiting;
+        totalTAT += turnaround;
+        averageWaitingTime = totalWT / completed;
+        averageTurnaroundTime = totalTAT / completed;
+    }
+
+    @Override
+    public void onQuantumUpdate(int process, int quantum) {
+        ensureCapacity(process);
+        if (quanta == null) {
+            quanta = new int[names.length][];
+            quantaSize = new int[names.length];
+        }
+        int[] history = quanta[process];
+        if (history == null) {
+            history = quanta[process] = new int[4];
+        } else if (quantaSize[process] == history.length) {
+            history = quanta[process] = Arrays.copyOf(history, history.length * 2);
+        }
+        history[quantaSize[process]++] = quantum;
+    }
+
+    // Everything recorded so far except the names, which come from the table, for a checkpoint
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(jobs);
+        out.writeInt(completed);
+        out.writeDouble(totalWT);
+        out.writeDouble(totalTAT);
+        out.writeInt(openProcess);
+        out.writeInt(openStart);
+        for (int id = 0; id < jobs; id++) {
+            out.writeInt(waiting[id]);
+            out.writeInt(turnaround[id]);
+            out.writeInt(response[id]);
+        }
+        out.writeBoolean(quanta != null);
+        for (int id = 0; quanta != null && id < jobs; id++) {
+            int size = quanta[id] == null ? -1 : quantaSize[id];
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeInt(quanta[id][i]);
+            }
+        }
+        timeline.writeTo(out);
+    }
+
+    void readFrom(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count > 0) {
+            ensureCapacity(count - 1);
+        }
+        completed = in.readInt();
+        totalWT = in.readDouble();
+        totalTAT = in.readDouble();
+        averageWaitingTime = completed == 0 ? 0 : totalWT / completed;
+        averageTurnaroundTime = completed == 0 ? 0 : totalTAT / completed;
+        openProcess = in.readInt();
+        openStart = in.readInt();
+        for (int id = 0; id < count; id++) {
+            waiting[id] = in.readInt();
+            turnaround[id] = in.readInt();
+            response[id] = in.readInt();
+        }
+        quanta = null;
+        quantaSize = null;
+        if (in.readBoolean()) {
+            quanta = new int[names.length][];
+            quantaSize = new int[names.length];
+            for (int id = 0; id < count; id++) {
+                int size = in.readInt();
+                if (size >= 0) {
+                    quanta[id] = new int[Math.max(4, size)];
+                    quantaSize[id] = size;
+                    for (int i = 0; i < size; i++) {
+                        quanta[id][i] = in.readInt();
+                    }
+                }
+            }
+        }
+        timeline.readFrom(in);
+    }
+
+    private void closeSlice(int time) {
+        if (openProcess != -1) {
+            timeline.append(openProcess, openStart, time);
+            openProcess = -1;
+        }
+    }
+
+    private void ensureCapacity(int process) {
+        if (process >= jobs) {
+            jobs = process + 1;
+            idsByName = null;
+        }
+        if (process < names.length) {
+            return;
+        }
+        int capacity = Math.max(jobs, names.length * 2);
+        names = Arrays.copyOf(names, capacity);
+        waiting = Arrays.copyOf(waiting, capacity);
+        turnaround = Arrays.copyOf(turnaround, capacity);
+        response = Arrays.copyOf(response, capacity);
+        if (quanta != null) {
+            quanta = Arrays.copyOf(quanta, capacity);
+            quantaSize = Arrays.copyOf(quantaSize, capacity);
+        }
+    }
+
+    private int jobCount() {
+        return jobs;
+    }
+
+    private int idOf(Object name) {
+        if (idsByName == null) {
+            Map<String, Integer> ids = new HashMap<>();
+            for (int id = 0; id < jobCount(); id++) {
+                ids.put(names[id], id);
+            }
+            idsByName = ids;
+        }
+        Integer id = idsByName.get(name);
+        return id == null ? -1 : id;
+    }
 
+    // One name per dispatch: a run that folded k slices repeats its name k times
+    private final class ExecutionOrderView extends AbstractList<String> {
+        private int[] firstDispatch = new int[0];
+        private int indexedRuns = -1;
+        private int indexedDispatches = -1;
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            int[] first = index();
+            int run = Arrays.binarySearch(first, 0, timeline.size(), index);
+            if (run < 0) {
+                run = -run - 2;
+            }
+            return names[timeline.process(run)];
+        }
+
+        @Override
+        public int size() {
+            return timeline.dispatchCount();
+        }
+
+        private int[] index() {
+            if (indexedRuns != timeline.size() || indexedDispatches != timeline.dispatchCount()) {
+                int runs = timeline.size();
+                int[] first = new int[runs];
+                int dispatch = 0;
+                for (int run = 0; run < runs; run++) {
+                    first[run] = dispatch;
+                    dispatch += timeline.slices(run);
+                }
+                firstDispatch = first;
+                indexedRuns = runs;
+                indexedDispatches = dispatch;
+            }
+            return firstDispatch;
+        }
+    }
+
+    private final class MetricView extends AbstractMap<String, Integer> {
+        private final boolean turnaroundView;
+
+        MetricView(boolean turnaroundView) {
+            this.turnaroundView = turnaroundView;
+        }
+
+        private int[] column() {
+            return turnaroundView ? turnaround : waiting;
+        }
+
+        @Override
+        public Integer get(Object name) {
+            int id = idOf(name);
+            return id < 0 ? null : column()[id];
+        }
+
+        @Override
+        public boolean containsKey(Object name) {
+            return idOf(name) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return jobCount();
+        }
+
+        @Override
+        public Set<Entry<String, Integer>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Integer>> iterator() {
+                    return new Iterator<>() {
+                        private int id;
+
+                        @Override
+                        public boolean hasNext() {
+                            return id < jobCount();
+                        }
+
+                        @Override
+                        public Entry<String, Integer> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int current = id++;
+                            return new SimpleImmutableEntry<>(names[current], column()[current]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return jobCount();
+                }
+            };
+        }
+    }
+
+    private final class QuantumHistoryView extends AbstractMap<String, List<Integer>> {
+        @Override
+        public List<Integer> get(Object name) {
+            int id = quanta == null ? -1 : idOf(name);
+            return id < 0 || quanta[id] == null ? null : history(id);
+        }
+
+        @Override
+        public boolean containsKey(Object name) {
+            return get(name) != null;
+        }
+
+        @Override
+        public Set<Entry<String, List<Integer>>> entrySet() {
+            Set<Entry<String, List<Integer>>> entries = new LinkedHashSet<>();
+            for (int id = 0; quanta != null && id < jobCount(); id++) {
+                if (quanta[id] != null) {
+                    entries.add(new SimpleImmutableEntry<>(names[id], history(id)));
+                }
+            }
+            return entries;
+        }
+
+        private List<Integer> history(int id) {
+            int[] values = quanta[id];
+            int size = quantaSize[id];
+            return new AbstractList<>() {
+                @Override
+                public Integer get(int index) {
+                    Objects.checkIndex(index, size);
+                    return values[index];
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.example;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// The decisions that distinguish one scheduling algorithm from another. The Simulator
+// owns the clock, the arrival cursor and the CPU; a policy instance holds the ready
+// set of a single run. Times passed in are the current simulated time.
+public interface SchedulingPolicy {
+
+    enum Release { EXPIRED, PREEMPTED, COMPLETED }
+
+    // A job has arrived and joins the ready set
+    void admit(int job, int time);
+
+    // Remove and return the job to dispatch next, or -1 when nothing is ready
+    int select(int time);
+
+    // How long the job may run before its slice expires; Integer.MAX_VALUE runs it to completion
+    int slice(int job, int time);
+
+    // Whether an arrival while this job runs should be checked for preemption right away;
+    // otherwise arrivals are admitted at the next dispatch
+    default boolean preemptsOnArrival(int job, int time) {
+        return false;
+    }
+
+    // Earliest later time at which preempt() must be consulted even without an arrival
+    default int nextCheck(int job, int time) {
+        return Integer.MAX_VALUE;
+    }
+
+    // Called at arrivals and checks, after every arrival up to time has been admitted
+    default boolean preempt(int job, int time) {
+        return false;
+    }
+
+    // Jobs currently in the ready set
+    int readyCount();
+
+    // Multi-core runs: give up a ready job to an idle core, or -1 to keep them all
+    default int steal(int time) {
+        return -1;
+    }
+
+    // Multi-core runs: a ready job taken from another core joins this ready set
+    default void migrate(int job, int time) {
+        admit(job, time);
+    }
+
+    // The job left the CPU; return the context-switch time to spend before the next dispatch.
+    // workRemains tells whether any job, arrived or not, has yet to complete.
+    int release(int job, Release reason, int time, boolean workRemains);
+
+    // Operations so far on any heaps the ready set is kept in, for SchedulerCounters
+    default long heapOperations() {
+        return 0;
+    }
+
+    // Checkpoints: write the ready set and any state kept between calls, and read it back
+    // into a fresh policy for the same table, after the run state has been restored
+    void save(DataOutput out) throws IOException;
+
+    void restore(DataInput in) throws IOException;
+}
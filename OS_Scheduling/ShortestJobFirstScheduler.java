@@ -0,0 +1,127 @@
+package org.example;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ShortestJobFirstScheduler extends CPUScheduler {
+
+    private final int contextSwitchCost;
+
+    public ShortestJobFirstScheduler(int contextSwitchCost) {
+        this.contextSwitchCost = contextSwitchCost;
+    }
+
+    // Intervals of a run's result, end inclusive; Interval.process is the job id
+    public List<Interval> getExecutionOrder(SchedulerResult result) {
+        Timeline timeline = result.timeline;
+        List<Interval> intervals = new ArrayList<>(timeline.size());
+        for (int run = 0; run < timeline.size(); run++) {
+            Interval interval = new Interval(timeline.process(run));
+            interval.setStart(timeline.start(run));
+            interval.setEnd(timeline.end(run) - 1);
+            intervals.add(interval);
+        }
+        return intervals;
+    }
+
+    @Override
+    public String toString() {
+        return "ShortestJobFirstScheduler(contextSwitch=" + contextSwitchCost + ")";
+    }
+
+    @Override
+    protected SchedulingPolicy newPolicy(ProcessTable table, RunState state, ScheduleListener listener) {
+        return newPolicy(state, IndexedMinHeap.positions(table.size()));
+    }
+
+    // Per-core heaps share one position table
+    @Override
+    protected SchedulingPolicy[] newPolicies(ProcessTable table, RunState state, ScheduleListener listener,
+                                             int cores) {
+        int[] positions = IndexedMinHeap.positions(table.size());
+        SchedulingPolicy[] policies = new SchedulingPolicy[cores];
+        for (int core = 0; core < cores; core++) {
+            policies[core] = newPolicy(state, positions);
+        }
+        return policies;
+    }
+
+    private SchedulingPolicy newPolicy(RunState state, int[] positions) {
+        int[] remaining = state.remaining;
+
+        // Equal remaining times go to the earlier arrival
+        int[] rank = state.rank;
+
+        IndexedMinHeap readyQueue = new IndexedMinHeap(positions, (a, b) -> {
+            int c = Integer.compare(remaining[a], remaining[b]);
+            return c != 0 ? c : Integer.compare(rank[a], rank[b]);
+        });
+
+        return new SchedulingPolicy() {
+            @Override
+            public void admit(int job, int time) {
+                readyQueue.add(job);
+            }
+
+            @Override
+            public int select(int time) {
+                return readyQueue.poll();
+            }
+
+            @Override
+            public int slice(int job, int time) {
+                return Integer.MAX_VALUE;
+            }
+
+            @Override
+            public int readyCount() {
+                return readyQueue.size();
+            }
+
+            @Override
+            public long heapOperations() {
+                return readyQueue.operations();
+            }
+
+            // The shortest job, which would otherwise run next here once this core frees up
+            @Override
+            public int steal(int time) {
+                return readyQueue.poll();
+            }
+
+            @Override
+            public boolean preemptsOnArrival(int job, int time) {
+                return true;
+            }
+
+            @Override
+            public boolean preempt(int job, int time) {
+                int shortest = readyQueue.peek();
+                return shortest != -1 && remaining[shortest] < remaining[job];
+            }
+
+            @Override
+            public int release(int job, Release reason, int time, boolean workRemains) {
+                if (reason == Release.PREEMPTED) {
+                    // The tick the preemption is detected on is lost as well
+                    readyQueue.add(job);
+                    return contextSwitchCost + 1;
+                }
+                return readyQueue.isEmpty() ? 0 : contextSwitchCost;
+            }
+
+            @Override
+            public void save(DataOutput out) throws IOException {
+                readyQueue.writeTo(out);
+            }
+
+            @Override
+            public void restore(DataInput in) throws IOException {
+                readyQueue.readFrom(in);
+            }
+        };
+    }
+}
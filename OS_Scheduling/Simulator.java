@@ -0,0 +1,367 @@
+package org.example;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Discrete-event kernel shared by every scheduling policy. Time only moves from one
+// event to the next: a CPU stop (slice expiry, completion, or a preemption check at an
+// arrival or policy deadline), the end of a context switch, or an arrival waking an
+// idle CPU. Each event costs O(log n) in the event queue plus whatever the policy does.
+public final class Simulator {
+
+    // Event kinds, in the order they are handled when they fall on the same time
+    static final int STOP = 0;
+    static final int SWITCH_END = 1;
+    static final int ARRIVAL = 2;
+
+    // Events handled between hand-overs of the counts to SchedulerCounters
+    static final int PUBLISH_EVERY = 1 << 12;
+
+    private final ProcessTable table;
+    private final JobSource source;
+    private final RunState state;
+    private final SchedulingPolicy policy;
+    // Named in the Flight Recorder run event; null when a policy is run on its own
+    private final CPUScheduler scheduler;
+    private final ScheduleListener listener;
+    private final EventQueue events = new EventQueue();
+
+    private final int[] remaining;
+    private final int[] firstRun;
+    private final int[] id;
+    private int admitted;
+    private int live;
+    private boolean started;
+
+    // Time of the last event handled, and of the next snapshot if taking them
+    private int clock;
+    private Snapshots snapshots;
+    private int nextSnapshot;
+
+    // The CPU: running job, when its slice expires, and when remaining was last charged
+    private int running = -1;
+    private int sliceEnd;
+    private int charged;
+
+    // Counts for SchedulerCounters, from when this simulator started or resumed
+    private int readyHighWater;
+    private long idleTime;
+    private int unpublished;
+    private SchedulerCounters.Run counters;
+    private final SchedulerEvents.Run runEvent = new SchedulerEvents.Run();
+
+    // Takes snapshots of a run between events
+    interface Snapshots {
+        // Time of the first snapshot after one taken at this time
+        int next(int time);
+
+        // False ends the run here
+        boolean save(Simulator simulator);
+    }
+
+    private Simulator(CPUScheduler scheduler, ProcessTable table, JobSource source, RunState state,
+                      SchedulingPolicy policy, ScheduleListener listener) {
+        this.scheduler = scheduler;
+        this.table = table;
+        this.source = source;
+        this.state = state;
+        this.policy = policy;
+        this.listener = SchedulerEvents.wrap(listener);
+        this.remaining = state.remaining;
+        this.firstRun = state.firstRun;
+        this.id = state.id;
+    }
+
+    public static void run(ProcessTable table, RunState state, SchedulingPolicy policy, ScheduleListener listener) {
+        run(table, JobSource.of(table), state, policy, listener);
+    }
+
+    // Jobs come from the source; the table, state and policy are indexed by its slots
+    public static void run(ProcessTable table, JobSource source, RunState state,
+                           SchedulingPolicy policy, ScheduleListener listener) {
+        run(null, table, source, state, policy, listener);
+    }
+
+    // A run of the scheduler's policy, named after the scheduler in Flight Recorder
+    static void run(CPUScheduler scheduler, ProcessTable table, JobSource source, RunState state,
+                    SchedulingPolicy policy, ScheduleListener listener) {
+        new Simulator(scheduler, table, source, state, policy, listener).advance();
+    }
+
+    // A table run that saves snapshots as it goes, after resuming from the last one if any
+    static void run(CPUScheduler scheduler, ProcessTable table, RunState state, SchedulingPolicy policy,
+                    ScheduleListener listener, Checkpoint checkpoint) throws IOException {
+        Simulator simulator = new Simulator(scheduler, table, JobSource.of(table), state, policy, listener);
+        checkpoint.resume(simulator);
+        try {
+            simulator.advance(checkpoint);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // A run to be carried on by advance() as its source learns of more jobs
+    static Simulator start(CPUScheduler scheduler, ProcessTable table, JobSource source, RunState state,
+                           SchedulingPolicy policy, ScheduleListener listener) {
+        return new Simulator(scheduler, table, source, state, policy, listener);
+    }
+
+    // Handle events, handing the run to snapshots after each one that falls due, until the
+    // run is over or snapshots end it
+    void advance(Snapshots snapshots) {
+        this.snapshots = snapshots;
+        this.nextSnapshot = snapshots.next(clock);
+        advance();
+    }
+
+    // Handle events until the run is over (true) or until the source has not settled the
+    // time of the next one (false); calling again once it has carries on where this left off.
+    // A run that ends early, on a snapshot or an exception, is counted as over.
+    boolean advance() {
+        boolean over = true;
+        try {
+            over = handleEvents();
+            return over;
+        } finally {
+            if (over) {
+                finish();
+            } else {
+                publish();
+            }
+        }
+    }
+
+    private boolean handleEvents() {
+        if (!started) {
+            if (!source.settled(0)) {
+                return false;
+            }
+            started = true;
+            if (!source.hasNext()) {
+                return true;
+            }
+            events.add(0, SWITCH_END, 0);
+            begin();
+        }
+
+        while (!events.isEmpty()) {
+            int time = EventQueue.time(events.peek());
+            if (!source.settled(time)) {
+                return false;
+            }
+            long event = events.poll();
+            if (EventQueue.kind(event) == STOP) {
+                stop(time);
+            } else {
+                dispatch(time);
+            }
+            clock = time;
+            if (++unpublished == PUBLISH_EVERY) {
+                publish();
+            }
+            if (snapshots != null && time >= nextSnapshot) {
+                if (!snapshots.save(this)) {
+                    return true;
+                }
+                nextSnapshot = snapshots.next(time);
+            }
+        }
+        return true;
+    }
+
+    private void begin() {
+        counters = new SchedulerCounters.Run(clock);
+        runEvent.begin();
+    }
+
+    private void publish() {
+        unpublished = 0;
+        if (counters != null) {
+            counters.publish(admitted, readyHighWater, heapOperations(), idleTime, clock);
+        }
+    }
+
+    private long heapOperations() {
+        return events.operations() + policy.heapOperations();
+    }
+
+    // Count the run once it is over; one that never began has nothing to count
+    private void finish() {
+        if (counters == null) {
+            return;
+        }
+        counters.end(admitted, readyHighWater, heapOperations(), idleTime, clock);
+        counters = null;
+        if (runEvent.isEnabled()) {
+            runEvent.policy = scheduler != null ? scheduler.toString() : policy.getClass().getName();
+            runEvent.jobs = admitted;
+            runEvent.simulatedTime = clock;
+            runEvent.readyHighWater = readyHighWater;
+            runEvent.heapOperations = heapOperations();
+            runEvent.idleTime = idleTime;
+            runEvent.commit();
+        }
+    }
+
+    int clock() {
+        return clock;
+    }
+
+    int admitted() {
+        return admitted;
+    }
+
+    // Arrival time of the next job to admit, the last one the run has looked at
+    int nextArrival() {
+        return source.hasNext() ? source.nextArrival() : Integer.MAX_VALUE;
+    }
+
+    // Everything but the policy and the completion times, between two events: all that
+    // decides the rest of the run besides the jobs still to arrive. Only the jobs in play
+    // are written, in arrival order, so runs that reach one state by different paths save
+    // the same bytes and a snapshot grows with the ready set rather than the workload.
+    void save(DataOutput out) throws IOException {
+        out.writeBoolean(started);
+        out.writeInt(clock);
+        out.writeInt(admitted);
+        out.writeInt(live);
+        out.writeInt(running);
+        out.writeInt(sliceEnd);
+        out.writeInt(charged);
+        events.writeTo(out);
+        for (int job = state.firstLive(); job != -1; job = state.nextLive(job)) {
+            out.writeInt(job);
+            out.writeInt(remaining[job]);
+            out.writeInt(firstRun[job]);
+            out.writeInt(id[job]);
+            out.writeInt(state.rank[job]);
+        }
+    }
+
+    void saveCompletions(DataOutput out) throws IOException {
+        Checkpoint.writeInts(out, state.completion);
+    }
+
+    void restoreCompletions(DataInput in) throws IOException {
+        Checkpoint.readInts(in, state.completion);
+    }
+
+    // Into a new simulator over the same table source, which is moved past the jobs admitted
+    void restore(DataInput in) throws IOException {
+        started = in.readBoolean();
+        clock = in.readInt();
+        admitted = in.readInt();
+        live = in.readInt();
+        running = in.readInt();
+        sliceEnd = in.readInt();
+        charged = in.readInt();
+        events.readFrom(in);
+        state.clearLive();
+        for (int n = 0; n < live; n++) {
+            int job = in.readInt();
+            if (job < 0 || job >= remaining.length) {
+                throw new IOException("Checkpoint does not fit the run");
+            }
+            state.link(job);
+            remaining[job] = in.readInt();
+            firstRun[job] = in.readInt();
+            id[job] = in.readInt();
+            state.rank[job] = in.readInt();
+            state.completion[job] = -1;
+        }
+        for (int job = 0; job < admitted; job++) {
+            source.admit();
+        }
+        begin();
+    }
+
+    private void admit(int time) {
+        while (source.hasNext() && source.nextArrival() <= time) {
+            int job = source.admit();
+            remaining[job] = table.burst[job];
+            firstRun[job] = -1;
+            state.completion[job] = -1;
+            state.rank[job] = admitted++;
+            id[job] = source.id(job);
+            state.link(job);
+            live++;
+            policy.admit(job, time);
+        }
+    }
+
+    // The CPU is free: dispatch the policy's choice, or sleep until the next arrival
+    private void dispatch(int time) {
+        admit(time);
+        readyHighWater = Math.max(readyHighWater, policy.readyCount());
+
+        int job = policy.select(time);
+        if (job == -1) {
+            int arrival = source.nextArrival();
+            idleTime += arrival - time;
+            listener.onIdle(time, arrival);
+            events.add(arrival, ARRIVAL, 0);
+            return;
+        }
+
+        running = job;
+        charged = time;
+        sliceEnd = time + Math.min(policy.slice(job, time), remaining[job]);
+        listener.onDispatch(id[job], time);
+        if (firstRun[job] == -1) {
+            firstRun[job] = time;
+        }
+        scheduleStop(time);
+    }
+
+    private void scheduleStop(int time) {
+        int stop = Math.min(sliceEnd, policy.nextCheck(running, time));
+        if (source.hasNext() && policy.preemptsOnArrival(running, time)) {
+            stop = Math.min(stop, source.nextArrival());
+        }
+        events.add(stop, STOP, 0);
+    }
+
+    private void stop(int time) {
+        int job = running;
+        remaining[job] -= time - charged;
+        charged = time;
+
+        int contextSwitch;
+        if (remaining[job] == 0) {
+            state.completion[job] = time;
+            state.unlink(job);
+            live--;
+            int tat = time - table.arrival[job];
+            listener.onComplete(id[job], time, tat, tat - table.burst[job], firstRun[job] - table.arrival[job]);
+            contextSwitch = policy.release(job, SchedulingPolicy.Release.COMPLETED, time, workRemains());
+            source.release(job);
+        } else if (time == sliceEnd) {
+            listener.onPreempt(id[job], time);
+            contextSwitch = policy.release(job, SchedulingPolicy.Release.EXPIRED, time, workRemains());
+        } else {
+            admit(time);
+            if (!policy.preempt(job, time)) {
+                scheduleStop(time);
+                return;
+            }
+            listener.onPreempt(id[job], time);
+            contextSwitch = policy.release(job, SchedulingPolicy.Release.PREEMPTED, time, workRemains());
+        }
+        running = -1;
+
+        if (!workRemains()) {
+            return;
+        }
+        if (contextSwitch > 0) {
+            listener.onContextSwitch(time, time + contextSwitch);
+        }
+        events.add(time + contextSwitch, SWITCH_END, 0);
+    }
+
+    // Some job, arrived or not, has not completed yet
+    private boolean workRemains() {
+        return live > 0 || source.hasNext();
+    }
+}
@@ -0,0 +1,102 @@
+package org.example;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+// Run-length encoded schedule. Each run is one job executing over [start, end);
+// back-to-back slices of the same job are folded into one run that counts them.
+public class Timeline {
+
+    private int[] process = new int[16];
+    private int[] start = new int[16];
+    private int[] end = new int[16];
+    private int[] slices = new int[16];
+    private int size;
+    private int dispatches;
+
+    public void append(int process, int start, int end) {
+        append(process, start, end, 1);
+    }
+
+    // Append a run that already folds the given number of slices
+    public void append(int process, int start, int end, int slices) {
+        dispatches += slices;
+        int last = size - 1;
+        if (last >= 0 && this.process[last] == process && this.end[last] == start) {
+            this.end[last] = end;
+            this.slices[last] += slices;
+            return;
+        }
+        if (size == this.process.length) {
+            grow();
+        }
+        this.process[size] = process;
+        this.start[size] = start;
+        this.end[size] = end;
+        this.slices[size] = slices;
+        size++;
+    }
+
+    // Number of runs
+    public int size() {
+        return size;
+    }
+
+    // Number of slices appended, i.e. runs before merging
+    public int dispatchCount() {
+        return dispatches;
+    }
+
+    public int process(int run) {
+        return process[run];
+    }
+
+    public int start(int run) {
+        return start[run];
+    }
+
+    public int end(int run) {
+        return end[run];
+    }
+
+    public int slices(int run) {
+        return slices[run];
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(size);
+        out.writeInt(dispatches);
+        for (int run = 0; run < size; run++) {
+            out.writeInt(process[run]);
+            out.writeInt(start[run]);
+            out.writeInt(end[run]);
+            out.writeInt(slices[run]);
+        }
+    }
+
+    void readFrom(DataInput in) throws IOException {
+        int runs = in.readInt();
+        dispatches = in.readInt();
+        size = 0;
+        while (process.length < runs) {
+            grow();
+        }
+        for (int run = 0; run < runs; run++) {
+            process[run] = in.readInt();
+            start[run] = in.readInt();
+            end[run] = in.readInt();
+            slices[run] = in.readInt();
+        }
+        size = runs;
+    }
+
+    private void grow() {
+        int capacity = process.length * 2;
+        process = Arrays.copyOf(process, capacity);
+        start = Arrays.copyOf(start, capacity);
+        end = Arrays.copyOf(end, capacity);
+        slices = Arrays.copyOf(slices, capacity);
+    }
+}
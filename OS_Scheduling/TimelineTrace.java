@@ -0,0 +1,162 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Binary schedule file (see TraceFormat): 16-byte records of process id, start, end and
+// slice count, one per Timeline run. Process ids index the matching ProcessTrace.
+public final class TimelineTrace implements Closeable {
+
+    static final int RECORD = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    private TimelineTrace(FileChannel channel, long size, MappedByteBuffer[] segments) {
+        this.channel = channel;
+        this.size = size;
+        this.segments = segments;
+    }
+
+    public static TimelineTrace open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = TraceFormat.readHeader(channel, TraceFormat.TIMELINE, RECORD, file).getLong(8);
+            return new TimelineTrace(channel, size, TraceFormat.map(channel, size, RECORD));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static Writer create(Path file) throws IOException {
+        return new Writer(file);
+    }
+
+    public static void write(Path file, Timeline timeline) throws IOException {
+        try (Writer writer = create(file)) {
+            for (int run = 0; run < timeline.size(); run++) {
+                writer.append(timeline.process(run), timeline.start(run), timeline.end(run), timeline.slices(run));
+            }
+        }
+    }
+
+    // Number of runs
+    public long size() {
+        return size;
+    }
+
+    public int process(long run) {
+        return field(run, 0);
+    }
+
+    public int start(long run) {
+        return field(run, 4);
+    }
+
+    public int end(long run) {
+        return field(run, 8);
+    }
+
+    public int slices(long run) {
+        return field(run, 12);
+    }
+
+    public Timeline toTimeline() {
+        Timeline timeline = new Timeline();
+        for (long run = 0; run < size; run++) {
+            timeline.append(process(run), start(run), end(run), slices(run));
+        }
+        return timeline;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int field(long run, int at) {
+        if (run < 0 || run >= size) {
+            throw new IndexOutOfBoundsException("Run " + run + " of " + size);
+        }
+        ByteBuffer segment = segments[(int) (run >>> TraceFormat.SEGMENT_SHIFT)];
+        return segment.getInt((int) (run & TraceFormat.SEGMENT_MASK) * RECORD + at);
+    }
+
+    // Appends runs in order, folding back-to-back runs of the same process as Timeline
+    // does. As a listener it records a schedule while it is simulated, so even a streamed
+    // run never holds its timeline in memory; I/O errors then surface as UncheckedIOException.
+    public static final class Writer implements ScheduleListener, Closeable {
+        private final TraceFormat.Appender out;
+        private int process = -1;
+        private int start, end, slices;
+        private int openProcess = -1;
+        private int openStart;
+
+        private Writer(Path file) throws IOException {
+            this.out = new TraceFormat.Appender(file, TraceFormat.TIMELINE, RECORD);
+        }
+
+        public void append(int process, int start, int end, int slices) throws IOException {
+            if (this.process == process && this.end == start) {
+                this.end = end;
+                this.slices += slices;
+                return;
+            }
+            flushRun();
+            this.process = process;
+            this.start = start;
+            this.end = end;
+            this.slices = slices;
+        }
+
+        @Override
+        public void onDispatch(int process, int time) {
+            closeSlice(time);
+            openProcess = process;
+            openStart = time;
+        }
+
+        @Override
+        public void onPreempt(int process, int time) {
+            closeSlice(time);
+        }
+
+        @Override
+        public void onComplete(int process, int time, int turnaround, int waiting, int response) {
+            closeSlice(time);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushRun();
+            out.close();
+        }
+
+        private void closeSlice(int time) {
+            if (openProcess == -1) {
+                return;
+            }
+            try {
+                append(openProcess, openStart, time, 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            openProcess = -1;
+        }
+
+        private void flushRun() throws IOException {
+            if (process != -1) {
+                out.record().putInt(process).putInt(start).putInt(end).putInt(slices);
+                process = -1;
+            }
+        }
+    }
+}
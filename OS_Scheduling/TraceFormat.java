@@ -0,0 +1,137 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Layout shared by the binary trace files. Everything is little-endian. A 64-byte header
+//
+//   0  magic "OSTR"     4  version (short)  6  kind (short)   8  record count (long)
+//   16 record size      20 contextSwitch    24 agingInterval  28 rrQuantum   32.. zero
+//
+// is followed by count fixed-width records, so record i lives at 64 + i * recordSize.
+// Writers append records through a buffer and fill the count in when they are closed.
+final class TraceFormat {
+
+    static final int MAGIC = 'O' | 'S' << 8 | 'T' << 16 | 'R' << 24;
+    static final short VERSION = 1;
+    static final short PROCESSES = 1;
+    static final short TIMELINE = 2;
+    static final int HEADER = 64;
+
+    // Records per mapped segment; a power of two keeps addressing to a shift and a mask,
+    // and 2^25 records keeps every segment under the 2 GB limit of a single mapping
+    static final int SEGMENT_SHIFT = 25;
+    static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    private TraceFormat() {
+    }
+
+    static ByteBuffer header(short kind, long count, int recordSize, int contextSwitch,
+                             int agingInterval, int rrQuantum) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putShort(VERSION).putShort(kind).putLong(count).putInt(recordSize)
+                .putInt(contextSwitch).putInt(agingInterval).putInt(rrQuantum);
+        return header.clear();
+    }
+
+    // Header of an existing file, checked against the expected kind and record size
+    static ByteBuffer readHeader(FileChannel channel, short kind, int recordSize, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // keep reading
+        }
+        header.flip();
+        if (header.remaining() < HEADER || header.getInt(0) != MAGIC) {
+            throw new IOException(file + " is not a trace file");
+        }
+        if (header.getShort(4) != VERSION || header.getShort(6) != kind || header.getInt(16) != recordSize) {
+            throw new IOException(file + " has version " + header.getShort(4) + ", kind " + header.getShort(6)
+                    + " and " + header.getInt(16) + "-byte records; expected version " + VERSION
+                    + ", kind " + kind + " and " + recordSize + "-byte records");
+        }
+        long expected = HEADER + header.getLong(8) * recordSize;
+        if (channel.size() < expected) {
+            throw new IOException(file + " is truncated: " + channel.size() + " of " + expected + " bytes");
+        }
+        return header;
+    }
+
+    // Read-only mappings covering count records, SEGMENT_SHIFT records per buffer
+    static MappedByteBuffer[] map(FileChannel channel, long count, int recordSize) throws IOException {
+        int segments = (int) ((count + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        MappedByteBuffer[] mapped = new MappedByteBuffer[segments];
+        for (int s = 0; s < segments; s++) {
+            long first = (long) s << SEGMENT_SHIFT;
+            long records = Math.min(count - first, 1L << SEGMENT_SHIFT);
+            mapped[s] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER + first * recordSize, records * recordSize);
+            mapped[s].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return mapped;
+    }
+
+    static FileChannel create(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    // Sequential record writer: records are staged in a direct buffer, the header is
+    // rewritten with the final count on close
+    static final class Appender {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private final short kind;
+        private final int recordSize;
+        private int contextSwitch, agingInterval, rrQuantum;
+        private long count;
+
+        Appender(Path file, short kind, int recordSize) throws IOException {
+            this.channel = create(file);
+            this.kind = kind;
+            this.recordSize = recordSize;
+            channel.position(HEADER);
+        }
+
+        // Settings written to the header on close
+        void settings(int contextSwitch, int agingInterval, int rrQuantum) {
+            this.contextSwitch = contextSwitch;
+            this.agingInterval = agingInterval;
+            this.rrQuantum = rrQuantum;
+        }
+
+        // Room for one more record, flushing first if needed
+        ByteBuffer record() throws IOException {
+            if (buffer.remaining() < recordSize) {
+                flush();
+            }
+            count++;
+            return buffer;
+        }
+
+        long count() {
+            return count;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        void close() throws IOException {
+            try (channel) {
+                flush();
+                ByteBuffer header = header(kind, count, recordSize, contextSwitch, agingInterval, rrQuantum);
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.example;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Converters between the binary traces and the JSON fixture schema. Processes and runs
+// stream through in both directions and are never held in memory; the one exception is
+// expectedOutput, which keeps an int per process for completion times, since a process's
+// last run can come anywhere in the timeline. That section can only be produced, not read
+// back: it keeps names and totals but not the times a timeline needs.
+//
+// This class and WorkloadReader are the only main sources that use Jackson, and only its
+// streaming API: they need jackson-core at run time, while databind stays a test-only
+// dependency. Everything else in the package runs without Jackson on the class path.
+public final class TraceJson {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private TraceJson() {
+    }
+
+    // input section of a JSON workload -> process trace; returns the number of processes
+    public static long toTrace(Path json, Path trace) throws IOException {
+        try (WorkloadReader reader = new WorkloadReader(json);
+             ProcessTrace.Writer writer = ProcessTrace.create(trace)) {
+            while (reader.hasNext()) {
+                writer.add(reader.next());
+            }
+            writer.settings(reader.contextSwitch(), reader.agingInterval(), reader.rrQuantum());
+            return writer.count();
+        }
+    }
+
+    // Process trace -> JSON with an input section, plus an expectedOutput section derived
+    // from the timeline when one is given (nested under the scheduler's name if not null)
+    public static void toJson(Path trace, Path timeline, String scheduler, Path json) throws IOException {
+        try (ProcessTrace processes = ProcessTrace.open(trace);
+             JsonGenerator out = FACTORY.createGenerator(json.toFile(), JsonEncoding.UTF8)) {
+            out.writeStartObject();
+            writeInput(processes, out);
+            if (timeline != null) {
+                try (TimelineTrace runs = TimelineTrace.open(timeline)) {
+                    out.writeObjectFieldStart("expectedOutput");
+                    if (scheduler != null) {
+                        out.writeObjectFieldStart(scheduler);
+                    }
+                    writeExpectedOutput(processes, runs, out);
+                    if (scheduler != null) {
+                        out.writeEndObject();
+                    }
+                    out.writeEndObject();
+                }
+            }
+            out.writeEndObject();
+        }
+    }
+
+    private static void writeInput(ProcessTrace processes, JsonGenerator out) throws IOException {
+        out.writeObjectFieldStart("input");
+        out.writeNumberField("contextSwitch", processes.contextSwitch());
+        out.writeNumberField("agingInterval", processes.agingInterval());
+        out.writeNumberField("rrQuantum", processes.rrQuantum());
+        out.writeArrayFieldStart("processes");
+        for (long i = 0; i < processes.size(); i++) {
+            out.writeStartObject();
+            out.writeStringField("name", processes.name(i));
+            out.writeNumberField("arrival", processes.arrival(i));
+            out.writeNumberField("burst", processes.burst(i));
+            out.writeNumberField("priority", processes.priority(i));
+            out.writeNumberField("quantum", processes.quantum(i));
+            out.writeEndObject();
+        }
+        out.writeEndArray();
+        out.writeEndObject();
+    }
+
+    // Completion is the end of a process's last run; waiting and turnaround follow from it
+    private static void writeExpectedOutput(ProcessTrace processes, TimelineTrace runs,
+                                            JsonGenerator out) throws IOException {
+        int[] completion = new int[Math.toIntExact(processes.size())];
+        out.writeArrayFieldStart("executionOrder");
+        for (long run = 0; run < runs.size(); run++) {
+            int process = runs.process(run);
+            String name = processes.name(process);
+            for (int slice = runs.slices(run); slice > 0; slice--) {
+                out.writeString(name);
+            }
+            completion[process] = runs.end(run);
+        }
+        out.writeEndArray();
+
+        double totalWT = 0, totalTAT = 0;
+        out.writeArrayFieldStart("processResults");
+        for (int i = 0; i < completion.length; i++) {
+            int turnaround = completion[i] - processes.arrival(i);
+            int waiting = turnaround - processes.burst(i);
+            totalWT += waiting;
+            totalTAT += turnaround;
+            out.writeStartObject();
+            out.writeStringField("name", processes.name(i));
+            out.writeNumberField("waitingTime", waiting);
+            out.writeNumberField("turnaroundTime", turnaround);
+            out.writeEndObject();
+        }
+        out.writeEndArray();
+
+        int n = Math.max(completion.length, 1);
+        out.writeNumberField("averageWaitingTime", totalWT / n);
+        out.writeNumberField("averageTurnaroundTime", totalTAT / n);
+    }
+}
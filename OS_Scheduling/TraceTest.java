@@ -0,0 +1,264 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.*;
+import org.example.Process;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TraceTest {
+
+    // Records per mapped segment, as TraceFormat lays them out
+    private static final long SEGMENT = 1L << 25;
+
+    private static List<Process> workload() {
+        List<Process> jobs = new ArrayList<>();
+        new WorkloadGenerator(5).count(500).poisson(0.2).exponential(6).priorities(1, 8).quanta(2, 6)
+                .forEachRemaining(jobs::add);
+        // Sixteen bytes of UTF-8: fills the name field with no terminator
+        jobs.add(new Process("Ünïcødé-1234", 3_000, 4, 2, 3));
+        return jobs;
+    }
+
+    private static void assertSameProcesses(List<Process> expected, List<Process> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Process e = expected.get(i);
+            Process a = actual.get(i);
+            assertEquals(e.name, a.name);
+            assertEquals(e.arrival, a.arrival);
+            assertEquals(e.burst, a.burst);
+            assertEquals(e.priority, a.priority);
+            assertEquals(e.quantum, a.quantum);
+        }
+    }
+
+    private static void assertSameTimeline(Timeline expected, Timeline actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int run = 0; run < expected.size(); run++) {
+            assertEquals(expected.process(run), actual.process(run));
+            assertEquals(expected.start(run), actual.start(run));
+            assertEquals(expected.end(run), actual.end(run));
+            assertEquals(expected.slices(run), actual.slices(run));
+        }
+    }
+
+    @Test
+    void processRecordsReadBackAsWritten() throws IOException {
+        Path file = Files.createTempDirectory("trace").resolve("processes");
+        List<Process> jobs = workload();
+        try (ProcessTrace.Writer writer = ProcessTrace.create(file)) {
+            for (Process p : jobs) {
+                writer.add(p);
+            }
+            writer.settings(1, 5, 4);
+        }
+
+        try (ProcessTrace trace = ProcessTrace.open(file)) {
+            assertEquals(jobs.size(), trace.size());
+            assertEquals(1, trace.contextSwitch());
+            assertEquals(5, trace.agingInterval());
+            assertEquals(4, trace.rrQuantum());
+            List<Process> read = new ArrayList<>();
+            trace.iterator().forEachRemaining(read::add);
+            assertSameProcesses(jobs, read);
+            assertEquals(jobs.size(), trace.toTable().size());
+            assertThrows(IndexOutOfBoundsException.class, () -> trace.arrival(jobs.size()));
+        }
+    }
+
+    @Test
+    void rejectsNamesLongerThanARecordHolds() throws IOException {
+        Path file = Files.createTempDirectory("trace").resolve("processes");
+        try (ProcessTrace.Writer writer = ProcessTrace.create(file)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.add("seventeen-bytes!!", 0, 1, 0, 1));
+        }
+    }
+
+    @Test
+    void timelineRecordedWhileSimulatingMatchesTheResult() throws IOException {
+        Path file = Files.createTempDirectory("trace").resolve("timeline");
+        ProcessTable table = ProcessTable.from(workload());
+        SchedulerResult result = new RoundRobinScheduler(3, 1).run(table);
+        try (TimelineTrace.Writer writer = TimelineTrace.create(file)) {
+            new RoundRobinScheduler(3, 1).run(table, writer);
+        }
+
+        try (TimelineTrace trace = TimelineTrace.open(file)) {
+            assertEquals(result.timeline.size(), trace.size());
+            assertSameTimeline(result.timeline, trace.toTimeline());
+        }
+    }
+
+    @Test
+    void jsonSurvivesATripThroughATrace() throws IOException {
+        Path dir = Files.createTempDirectory("trace");
+        List<Process> jobs = workload();
+        ProcessTable table = ProcessTable.from(jobs);
+        SchedulerResult result = new RoundRobinScheduler(3, 1).run(table);
+
+        Path trace = dir.resolve("processes");
+        Path timeline = dir.resolve("timeline");
+        try (ProcessTrace.Writer writer = ProcessTrace.create(trace)) {
+            for (Process p : jobs) {
+                writer.add(p);
+            }
+            writer.settings(1, 0, 3);
+        }
+        TimelineTrace.write(timeline, result.timeline);
+
+        Path json = dir.resolve("workload.json");
+        TraceJson.toJson(trace, timeline, "RR", json);
+        Path again = dir.resolve("again");
+        assertEquals(jobs.size(), TraceJson.toTrace(json, again));
+        Path json2 = dir.resolve("again.json");
+        TraceJson.toJson(again, timeline, "RR", json2);
+        assertArrayEquals(Files.readAllBytes(json), Files.readAllBytes(json2));
+
+        try (WorkloadReader reader = new WorkloadReader(json)) {
+            List<Process> read = new ArrayList<>();
+            reader.forEachRemaining(read::add);
+            assertSameProcesses(jobs, read);
+            assertEquals(1, reader.contextSwitch());
+            assertEquals(3, reader.rrQuantum());
+        }
+
+        JsonNode expected = new ObjectMapper().readTree(json.toFile()).get("expectedOutput").get("RR");
+        assertEquals(result.executionOrder.size(), expected.get("executionOrder").size());
+        for (JsonNode p : expected.get("processResults")) {
+            String name = p.get("name").asText();
+            assertEquals(p.get("waitingTime").asInt(), result.waitingTime.get(name));
+            assertEquals(p.get("turnaroundTime").asInt(), result.turnaroundTime.get(name));
+        }
+    }
+
+    @Test
+    void emptyTracesOpenAndConvert() throws IOException {
+        Path dir = Files.createTempDirectory("trace");
+        Path processes = dir.resolve("processes");
+        Path timeline = dir.resolve("timeline");
+        ProcessTrace.create(processes).close();
+        TimelineTrace.create(timeline).close();
+
+        try (ProcessTrace trace = ProcessTrace.open(processes)) {
+            assertEquals(0, trace.size());
+            assertFalse(trace.iterator().hasNext());
+            assertEquals(0, trace.toTable().size());
+        }
+        try (TimelineTrace trace = TimelineTrace.open(timeline)) {
+            assertEquals(0, trace.size());
+            assertEquals(0, trace.toTimeline().size());
+        }
+
+        Path json = dir.resolve("empty.json");
+        TraceJson.toJson(processes, timeline, null, json);
+        try (WorkloadReader reader = new WorkloadReader(json)) {
+            assertFalse(reader.hasNext());
+        }
+        assertEquals(0, TraceJson.toTrace(json, dir.resolve("again")));
+    }
+
+    @Test
+    void refusesTruncatedAndForeignFiles() throws IOException {
+        Path dir = Files.createTempDirectory("trace");
+        Path processes = dir.resolve("processes");
+        try (ProcessTrace.Writer writer = ProcessTrace.create(processes)) {
+            writer.add("A", 0, 1, 0, 1);
+            writer.add("B", 1, 1, 0, 1);
+        }
+        assertThrows(IOException.class, () -> TimelineTrace.open(processes));
+
+        byte[] bytes = Files.readAllBytes(processes);
+        Path truncated = dir.resolve("truncated");
+        Files.write(truncated, java.util.Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> ProcessTrace.open(truncated));
+    }
+
+    // A sparse file with one record on either side of the first segment boundary
+    private static Path acrossBoundary(Path file, short kind, int recordSize, ByteBuffer before, ByteBuffer after)
+            throws IOException {
+        long count = SEGMENT + 1;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                StandardOpenOption.SPARSE)) {
+            ByteBuffer header = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt('O' | 'S' << 8 | 'T' << 16 | 'R' << 24).putShort((short) 1).putShort(kind)
+                    .putLong(count).putInt(recordSize).putInt(0).putInt(0).putInt(1).clear();
+            channel.write(header, 0);
+            channel.write(before.flip(), 64 + (SEGMENT - 1) * recordSize);
+            channel.write(after.flip(), 64 + SEGMENT * recordSize);
+        }
+        return file;
+    }
+
+    private static ByteBuffer processRecord(int arrival, String name) {
+        ByteBuffer record = ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN);
+        record.putInt(arrival).putInt(7).putInt(2).putInt(4).put(name.getBytes(StandardCharsets.UTF_8));
+        return record.position(32);
+    }
+
+    @Test
+    void readsRecordsOnBothSidesOfTheMappingBoundary() throws IOException {
+        Path dir = Files.createTempDirectory("trace");
+        Path processes = acrossBoundary(dir.resolve("processes"), (short) 1, 32,
+                processRecord(11, "last"), processRecord(12, "first"));
+        try (ProcessTrace trace = ProcessTrace.open(processes)) {
+            assertEquals(SEGMENT + 1, trace.size());
+            assertEquals(11, trace.arrival(SEGMENT - 1));
+            assertEquals("last", trace.name(SEGMENT - 1));
+            assertEquals(12, trace.arrival(SEGMENT));
+            assertEquals(7, trace.burst(SEGMENT));
+            assertEquals(4, trace.quantum(SEGMENT));
+            assertEquals("first", trace.name(SEGMENT));
+            assertEquals("", trace.name(0));
+            assertThrows(IndexOutOfBoundsException.class, () -> trace.arrival(SEGMENT + 1));
+        } finally {
+            Files.delete(processes);
+        }
+
+        ByteBuffer before = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN).putInt(3).putInt(10).putInt(20).putInt(1);
+        ByteBuffer after = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN).putInt(4).putInt(20).putInt(25).putInt(2);
+        Path timeline = acrossBoundary(dir.resolve("timeline"), (short) 2, 16, before, after);
+        try (TimelineTrace trace = TimelineTrace.open(timeline)) {
+            assertEquals(SEGMENT + 1, trace.size());
+            assertEquals(3, trace.process(SEGMENT - 1));
+            assertEquals(20, trace.end(SEGMENT - 1));
+            assertEquals(4, trace.process(SEGMENT));
+            assertEquals(20, trace.start(SEGMENT));
+            assertEquals(25, trace.end(SEGMENT));
+            assertEquals(2, trace.slices(SEGMENT));
+        } finally {
+            Files.delete(timeline);
+        }
+    }
+
+    @Test
+    void streamsAWorkloadFromATraceInArrivalOrder() throws IOException {
+        Path file = Files.createTempDirectory("trace").resolve("processes");
+        List<Process> jobs = workload();
+        try (ProcessTrace.Writer writer = ProcessTrace.create(file)) {
+            for (Process p : jobs) {
+                writer.add(p);
+            }
+        }
+        SchedulerResult expected = new ShortestJobFirstScheduler(1).run(jobs);
+        SchedulerResult streamed = new SchedulerResult(ProcessTable.from(jobs));
+        try (ProcessTrace trace = ProcessTrace.open(file)) {
+            Iterator<Process> iterator = trace.iterator();
+            new ShortestJobFirstScheduler(1).run(iterator, 1024, streamed);
+        }
+        assertSameTimeline(expected.timeline, streamed.timeline);
+    }
+}
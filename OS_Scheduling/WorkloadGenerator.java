@@ -0,0 +1,167 @@
+package org.example;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+// Seeded synthetic workload, produced one job at a time in arrival order so it can be fed
+// straight into CPUScheduler.run(Iterator, maxLive, listener) without ever being held in
+// memory. The same seed and settings always give the same jobs.
+//
+//   new WorkloadGenerator(42).count(5_000_000).poisson(0.2).pareto(1.5, 2)
+//
+// Arrivals are a Poisson process by default; bursty() switches to an on/off process that
+// alternates between a high and a low rate. Bursts are exponential, Pareto (heavy-tailed)
+// or lognormal, rounded up to at least 1 and capped so run times stay within int range.
+public class WorkloadGenerator implements Iterator<Process> {
+
+    private enum Bursts { EXPONENTIAL, PARETO, LOGNORMAL }
+
+    private final SplittableRandom random;
+
+    private long count = Long.MAX_VALUE;
+    private double rate = 0.1;
+    private double burstRate;
+    private double meanOn;
+    private double meanOff;
+    private Bursts bursts = Bursts.EXPONENTIAL;
+    private double shape = 1;
+    private double scale = 10;
+    private int maxBurst = 1 << 20;
+    private int minPriority = 1;
+    private int maxPriority = 10;
+    private int minQuantum = 1;
+    private int maxQuantum = 10;
+
+    private long generated;
+    private double clock;
+    private boolean on = true;
+    private double phaseEnd;
+
+    public WorkloadGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    // Number of jobs to produce; unbounded unless set
+    public WorkloadGenerator count(long count) {
+        this.count = count;
+        return this;
+    }
+
+    // Poisson arrivals at the given mean rate, in jobs per time unit
+    public WorkloadGenerator poisson(double rate) {
+        this.rate = rate;
+        this.burstRate = 0;
+        return this;
+    }
+
+    // On/off arrivals: rate during on periods and offRate during off periods, with
+    // exponentially distributed period lengths of the given means
+    public WorkloadGenerator bursty(double rate, double offRate, double meanOn, double meanOff) {
+        this.burstRate = rate;
+        this.rate = offRate;
+        this.meanOn = meanOn;
+        this.meanOff = meanOff;
+        return this;
+    }
+
+    public WorkloadGenerator exponential(double mean) {
+        this.bursts = Bursts.EXPONENTIAL;
+        this.scale = mean;
+        return this;
+    }
+
+    // Pareto bursts: most are near min, a few are enormous; alpha <= 2 has infinite variance
+    public WorkloadGenerator pareto(double alpha, double min) {
+        this.bursts = Bursts.PARETO;
+        this.shape = alpha;
+        this.scale = min;
+        return this;
+    }
+
+    // Bursts whose logarithm is normal with mean mu and standard deviation sigma
+    public WorkloadGenerator lognormal(double mu, double sigma) {
+        this.bursts = Bursts.LOGNORMAL;
+        this.scale = mu;
+        this.shape = sigma;
+        return this;
+    }
+
+    public WorkloadGenerator maxBurst(int maxBurst) {
+        this.maxBurst = maxBurst;
+        return this;
+    }
+
+    // Uniform priorities in [min, max]
+    public WorkloadGenerator priorities(int min, int max) {
+        this.minPriority = min;
+        this.maxPriority = max;
+        return this;
+    }
+
+    // Uniform AG quanta in [min, max]
+    public WorkloadGenerator quanta(int min, int max) {
+        this.minQuantum = min;
+        this.maxQuantum = max;
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return generated < count;
+    }
+
+    @Override
+    public Process next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        clock += interarrival();
+        if (clock > Integer.MAX_VALUE / 2) {
+            throw new IllegalStateException("Arrival times overflow after " + generated + " jobs");
+        }
+        return new Process("P" + generated++, (int) clock, burst(),
+                random.nextInt(minPriority, maxPriority + 1),
+                random.nextInt(minQuantum, maxQuantum + 1));
+    }
+
+    private double interarrival() {
+        if (burstRate <= 0) {
+            return nextExponential(rate);
+        }
+        // Draw in the current phase; crossing its end moves to the next phase with the
+        // remaining wait rescaled, which is exact because the exponential is memoryless
+        double t = clock;
+        if (phaseEnd == 0) {
+            phaseEnd = nextExponential(1 / meanOn);
+        }
+        while (true) {
+            double gap = nextExponential(on ? burstRate : rate);
+            if (t + gap < phaseEnd) {
+                return t + gap - clock;
+            }
+            t = phaseEnd;
+            on = !on;
+            phaseEnd = t + nextExponential(1 / (on ? meanOn : meanOff));
+        }
+    }
+
+    private int burst() {
+        double b = switch (bursts) {
+            case EXPONENTIAL -> nextExponential(1 / scale);
+            case PARETO -> scale / Math.pow(1 - random.nextDouble(), 1 / shape);
+            case LOGNORMAL -> Math.exp(scale + shape * nextGaussian());
+        };
+        return (int) Math.max(1, Math.min(maxBurst, Math.ceil(b)));
+    }
+
+    private double nextExponential(double rate) {
+        return -Math.log(1 - random.nextDouble()) / rate;
+    }
+
+    // Box-Muller; one value per call is enough here
+    private double nextGaussian() {
+        double u = 1 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
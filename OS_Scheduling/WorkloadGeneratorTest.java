@@ -0,0 +1,107 @@
+import org.example.*;
+import org.example.Process;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkloadGeneratorTest {
+
+    private static final int SAMPLES = 200_000;
+
+    private static double meanBurst(WorkloadGenerator workload) {
+        long total = 0;
+        for (Process p : Fixtures.jobs(workload.count(SAMPLES))) {
+            total += p.burst;
+        }
+        return (double) total / SAMPLES;
+    }
+
+    // Bursts are rounded up, so their mean lies in [mean, mean + 1) of the unrounded draw
+    private static void assertRoundedMean(double expected, double actual, String what) {
+        assertTrue(actual > expected - 0.05 && actual < expected + 1.05,
+                what + " mean " + actual + " for an unrounded mean of " + expected);
+    }
+
+    @Test
+    void sameSeedGivesTheSameJobs() {
+        List<Process> a = Fixtures.jobs(Fixtures.workload(11).count(1_000));
+        List<Process> b = Fixtures.jobs(Fixtures.workload(11).count(1_000));
+        List<Process> other = Fixtures.jobs(Fixtures.workload(12).count(1_000));
+
+        boolean differs = false;
+        for (int i = 0; i < a.size(); i++) {
+            Process p = a.get(i);
+            Process q = b.get(i);
+            assertEquals(p.name, q.name);
+            assertEquals(p.arrival, q.arrival);
+            assertEquals(p.burst, q.burst);
+            assertEquals(p.priority, q.priority);
+            assertEquals(p.quantum, q.quantum);
+            differs |= p.arrival != other.get(i).arrival || p.burst != other.get(i).burst;
+        }
+        assertTrue(differs);
+    }
+
+    @Test
+    void stopsAtTheCountWithArrivalsInOrder() {
+        WorkloadGenerator workload = Fixtures.workload(3).count(500);
+        int previous = 0;
+        for (int i = 0; i < 500; i++) {
+            assertTrue(workload.hasNext());
+            Process p = workload.next();
+            assertEquals("P" + i, p.name);
+            assertTrue(p.arrival >= previous, "arrival " + p.arrival + " after " + previous);
+            previous = p.arrival;
+        }
+        assertFalse(workload.hasNext());
+        assertThrows(NoSuchElementException.class, workload::next);
+    }
+
+    @Test
+    void burstMeansMatchTheirDistributions() {
+        // E[ceil(X)] for an exponential of mean 10 is 1 / (1 - e^-0.1), about 10.51
+        assertEquals(1 / (1 - Math.exp(-0.1)), meanBurst(new WorkloadGenerator(1).exponential(10)), 0.1);
+        // Pareto with alpha 3 has mean alpha * min / (alpha - 1) and finite variance
+        assertRoundedMean(3 * 2 / 2.0, meanBurst(new WorkloadGenerator(2).pareto(3, 2)), "pareto");
+        assertRoundedMean(Math.exp(1 + 0.5 * 0.5 / 2), meanBurst(new WorkloadGenerator(3).lognormal(1, 0.5)),
+                "lognormal");
+    }
+
+    @Test
+    void arrivalRatesMatchTheirProcesses() {
+        List<Process> poisson = Fixtures.jobs(new WorkloadGenerator(4).count(SAMPLES).poisson(0.25));
+        double poissonRate = SAMPLES / (double) poisson.get(SAMPLES - 1).arrival;
+        assertEquals(0.25, poissonRate, 0.25 * 0.02);
+
+        // On/off: the long-run rate weights each phase's rate by its mean length
+        List<Process> bursty = Fixtures.jobs(new WorkloadGenerator(5).count(SAMPLES).bursty(0.5, 0.02, 10, 60));
+        double expected = (0.5 * 10 + 0.02 * 60) / (10 + 60);
+        double burstyRate = SAMPLES / (double) bursty.get(SAMPLES - 1).arrival;
+        assertEquals(expected, burstyRate, expected * 0.05);
+    }
+
+    @Test
+    void keepsBurstsPrioritiesAndQuantaWithinBounds() {
+        WorkloadGenerator workload = new WorkloadGenerator(6).count(50_000).pareto(1.1, 5).maxBurst(40)
+                .priorities(3, 7).quanta(2, 4);
+        boolean capped = false;
+        boolean[] priorities = new boolean[8];
+        boolean[] quanta = new boolean[5];
+        while (workload.hasNext()) {
+            Process p = workload.next();
+            assertTrue(p.burst >= 5 && p.burst <= 40, "burst " + p.burst);
+            assertTrue(p.priority >= 3 && p.priority <= 7, "priority " + p.priority);
+            assertTrue(p.quantum >= 2 && p.quantum <= 4, "quantum " + p.quantum);
+            capped |= p.burst == 40;
+            priorities[p.priority] = true;
+            quanta[p.quantum] = true;
+        }
+        // The heavy tail reaches the cap and both ends of each range turn up
+        assertTrue(capped);
+        assertTrue(priorities[3] && priorities[7]);
+        assertTrue(quanta[2] && quanta[4]);
+    }
+}
@@ -0,0 +1,249 @@
+package org.example;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// Reads the "input" section of a workload file with Jackson's streaming parser and hands
+// out its processes one at a time, so memory stays flat however long the file is:
+//
+//   { "input": { "contextSwitch": 1, "agingInterval": 5, "rrQuantum": 2,
+//                "processes": [ { "name": "P1", "arrival": 0, "burst": 5, "priority": 3,
+//                                 "quantum": 4 }, ... ] },
+//     "expectedOutput": { ... } }
+//
+// Settings are picked up as the parser passes them: those written before "processes" are
+// known from the start, the rest once the iterator is exhausted. A process without a
+// quantum gets rrQuantum, or 1 if the file has none. Handed out one at a time, a process
+// cannot wait for an rrQuantum written after the array, so streaming such a file fails
+// there with a JsonParseException unless rrQuantum is 1; toList(), which holds the
+// processes anyway, gives them rrQuantum wherever it sits. Everything before "input" is
+// skipped without being built, and the reader stops at the end of "input", leaving the
+// rest to whoever owns the parser. Parse errors surface as UncheckedIOException. Files
+// whose processes are sorted by arrival can go straight to
+// CPUScheduler.run(reader, maxLive, ...).
+public class WorkloadReader implements Iterator<Process>, Closeable {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    // Quantum of a process without one while rrQuantum has not been read
+    private static final int DEFAULT_QUANTUM = 1;
+
+    private final JsonParser parser;
+
+    private int contextSwitch;
+    private int agingInterval;
+    private int rrQuantum = DEFAULT_QUANTUM;
+    private boolean rrQuantumRead;
+
+    // Handed out by next() with the default quantum before rrQuantum was read
+    private long defaultedOut;
+    // Whether pending got the default quantum before rrQuantum was read
+    private boolean pendingDefaulted;
+
+    private Process pending;
+    private boolean inArray;
+
+    public WorkloadReader(Path file) throws IOException {
+        this(Files.newInputStream(file));
+    }
+
+    // The stream is closed along with the reader
+    public WorkloadReader(InputStream in) throws IOException {
+        this(FACTORY.createParser(in));
+    }
+
+    // Reads from a parser that has not started yet. Once the reader is exhausted the parser
+    // sits at the end of "input", and the top-level fields after it can be read from there.
+    // The parser is closed along with the reader.
+    public WorkloadReader(JsonParser parser) throws IOException {
+        this.parser = parser;
+        try {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Workload must be a JSON object");
+            }
+            inArray = seekProcesses();
+            pending = readProcess();
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    // Read every process of a small workload into a list and close the stream
+    public static List<Process> readAll(InputStream in) throws IOException {
+        try (WorkloadReader reader = new WorkloadReader(in)) {
+            return reader.toList();
+        }
+    }
+
+    // The remaining processes in a list. Those without a quantum get rrQuantum even when it
+    // comes after the array, as the reader then exhausted knows it
+    public List<Process> toList() throws IOException {
+        List<Process> processes = new ArrayList<>();
+        int[] defaulted = new int[0];
+        int count = 0;
+        while (pending != null) {
+            if (pendingDefaulted) {
+                if (count == defaulted.length) {
+                    defaulted = Arrays.copyOf(defaulted, Math.max(16, count * 2));
+                }
+                defaulted[count++] = processes.size();
+            }
+            processes.add(pending);
+            pending = readProcess();
+        }
+        for (int i = 0; i < count; i++) {
+            Process p = processes.get(defaulted[i]);
+            p.quantum = rrQuantum;
+            p.remainingQuantum = rrQuantum;
+        }
+        return processes;
+    }
+
+    public int contextSwitch() {
+        return contextSwitch;
+    }
+
+    public int agingInterval() {
+        return agingInterval;
+    }
+
+    public int rrQuantum() {
+        return rrQuantum;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return pending != null;
+    }
+
+    @Override
+    public Process next() {
+        if (pending == null) {
+            throw new NoSuchElementException();
+        }
+        Process p = pending;
+        if (pendingDefaulted) {
+            defaultedOut++;
+        }
+        try {
+            pending = readProcess();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return p;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    // Walk to the start of input.processes, reading settings on the way; false if absent
+    private boolean seekProcesses() throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (field.equals("input") && value == JsonToken.START_OBJECT) {
+                return readInput();
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    // Inside the input object: settings up to the processes array (true), or to the end (false)
+    private boolean readInput() throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "contextSwitch" -> contextSwitch = parser.getValueAsInt();
+                case "agingInterval" -> agingInterval = parser.getValueAsInt();
+                case "rrQuantum" -> {
+                    rrQuantum = parser.getValueAsInt();
+                    rrQuantumRead = true;
+                    if (defaultedOut > 0 && rrQuantum != DEFAULT_QUANTUM) {
+                        throw new JsonParseException(parser, "rrQuantum " + rrQuantum + " comes after "
+                                + defaultedOut + " processes already handed out without a quantum;"
+                                + " write rrQuantum before \"processes\", give every process a quantum"
+                                + " or read the file with toList()");
+                    }
+                }
+                case "processes" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        return true;
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return false;
+    }
+
+    // Next element of the processes array, or null once the array (and the input object
+    // after it) has been read
+    private Process readProcess() throws IOException {
+        if (!inArray) {
+            return null;
+        }
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            inArray = false;
+            pendingDefaulted = false;
+            readInput();
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a process object, found " + token);
+        }
+
+        String name = null;
+        int arrival = 0, burst = 0, priority = 0, quantum = rrQuantum;
+        boolean hasQuantum = false;
+        int seen = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "name" -> {
+                    name = parser.getValueAsString();
+                    seen |= 1;
+                }
+                case "arrival" -> {
+                    arrival = parser.getValueAsInt();
+                    seen |= 2;
+                }
+                case "burst" -> {
+                    burst = parser.getValueAsInt();
+                    seen |= 4;
+                }
+                case "priority" -> priority = parser.getValueAsInt();
+                case "quantum" -> {
+                    quantum = parser.getValueAsInt();
+                    hasQuantum = true;
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if (seen != 7 || name == null) {
+            throw new JsonParseException(parser, "Process needs a name, arrival and burst");
+        }
+        pendingDefaulted = !hasQuantum && !rrQuantumRead;
+        return new Process(name, arrival, burst, priority, quantum);
+    }
+}
@@ -0,0 +1,81 @@
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.example.*;
+import org.example.Process;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkloadReaderTest {
+
+    private static InputStream json(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Integer> quanta(List<Process> processes) {
+        return processes.stream().map(p -> p.quantum).toList();
+    }
+
+    @Test
+    void missingQuantaGetRrQuantumWhereverItIsWritten() throws IOException {
+        String before = "{\"input\": {\"rrQuantum\": 3, \"processes\": ["
+                + "{\"name\": \"A\", \"arrival\": 0, \"burst\": 4, \"priority\": 1},"
+                + "{\"name\": \"B\", \"arrival\": 1, \"burst\": 2, \"priority\": 2, \"quantum\": 5}]}}";
+        String after = "{\"input\": {\"processes\": ["
+                + "{\"name\": \"A\", \"arrival\": 0, \"burst\": 4, \"priority\": 1},"
+                + "{\"name\": \"B\", \"arrival\": 1, \"burst\": 2, \"priority\": 2, \"quantum\": 5}],"
+                + " \"rrQuantum\": 3}}";
+        String none = "{\"input\": {\"processes\": ["
+                + "{\"name\": \"A\", \"arrival\": 0, \"burst\": 4, \"priority\": 1}]}}";
+
+        assertEquals(List.of(3, 5), quanta(WorkloadReader.readAll(json(before))));
+        List<Process> backfilled = WorkloadReader.readAll(json(after));
+        assertEquals(List.of(3, 5), quanta(backfilled));
+        assertEquals(3, backfilled.get(0).remainingQuantum);
+        assertEquals(List.of(1), quanta(WorkloadReader.readAll(json(none))));
+    }
+
+    @Test
+    void streamingRefusesAnRrQuantumAfterProcessesItHandedOut() throws IOException {
+        String after = "{\"input\": {\"processes\": ["
+                + "{\"name\": \"A\", \"arrival\": 0, \"burst\": 4},"
+                + "{\"name\": \"B\", \"arrival\": 1, \"burst\": 2}], \"rrQuantum\": 3}}";
+        try (WorkloadReader reader = new WorkloadReader(json(after))) {
+            assertEquals(1, reader.next().quantum);
+            UncheckedIOException e = assertThrows(UncheckedIOException.class, reader::next);
+            assertTrue(e.getMessage().contains("rrQuantum 3 comes after 2 processes"), e.getMessage());
+        }
+
+        // Nothing to correct when the late rrQuantum is the default anyway
+        String one = after.replace("\"rrQuantum\": 3", "\"rrQuantum\": 1");
+        try (WorkloadReader reader = new WorkloadReader(json(one))) {
+            List<Process> read = new ArrayList<>();
+            reader.forEachRemaining(read::add);
+            assertEquals(List.of(1, 1), quanta(read));
+        }
+    }
+
+    @Test
+    void leavesTheFieldsAfterInputToTheParser() throws IOException {
+        String text = "{\"skipped\": {\"deep\": [1, 2]}, \"input\": {\"contextSwitch\": 2, \"processes\": ["
+                + "{\"name\": \"A\", \"arrival\": 0, \"burst\": 4}]}, \"expectedOutput\": {\"x\": 1}}";
+        JsonParser parser = new JsonFactory().createParser(json(text));
+        try (WorkloadReader reader = new WorkloadReader(parser)) {
+            assertEquals("A", reader.next().name);
+            assertFalse(reader.hasNext());
+            assertEquals(2, reader.contextSwitch());
+
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("expectedOutput", parser.currentName());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// Throughput of each scheduler over generated workloads. Besides whole runs per second,
+// every run reports how many dispatches it simulated, so the "dispatches" secondary score
+// is dispatches per second (1e9 / score = ns per dispatch). Run with the GC profiler
+// (main() adds it, or -prof gc) and divide gc.alloc.rate.norm by jobs for bytes per job.
+//
+// simulate() and result() cover every engine over every size and arrival pattern at one
+// quantum and context-switch cost. settings() varies those two on one mid-sized workload,
+// and only for the engines that use both; AG takes its quanta from the jobs and SJF has
+// no quantum, so sweeping them would only repeat identical runs.
+//
+// Dense arrivals keep every job in the ready set at once (offered load about 10x the
+// CPU); sparse arrivals keep the load near 0.5 so the ready set stays small and idle
+// gaps are common.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SchedulerBenchmark {
+
+    private static final int QUANTUM = 4;
+    private static final int CONTEXT_SWITCH = 1;
+
+    @State(Scope.Benchmark)
+    public static class Engines {
+        @Param({"RR", "SJF", "AG", "Priority", "CFS"})
+        public String scheduler;
+
+        @Param({"10", "1000", "100000", "1000000"})
+        public int jobs;
+
+        @Param({"dense", "sparse"})
+        public String arrivals;
+
+        ProcessTable table;
+        CPUScheduler engine;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            table = workload(jobs, arrivals.equals("dense") ? 1.0 : 0.05, QUANTUM);
+            engine = engine(scheduler, QUANTUM, CONTEXT_SWITCH);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Settings {
+        @Param({"RR", "Priority", "CFS"})
+        public String scheduler;
+
+        @Param({"2", "20"})
+        public int quantum;
+
+        @Param({"0", "2"})
+        public int contextSwitch;
+
+        ProcessTable table;
+        CPUScheduler engine;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            table = workload(100_000, 1.0, quantum);
+            engine = engine(scheduler, quantum, contextSwitch);
+        }
+    }
+
+    private static ProcessTable workload(int jobs, double rate, int quantum) {
+        WorkloadGenerator workload = new WorkloadGenerator(42)
+                .count(jobs)
+                .poisson(rate)
+                .exponential(10)
+                .priorities(1, 10)
+                .quanta(quantum, quantum);
+
+        ProcessTable table = new ProcessTable(jobs);
+        while (workload.hasNext()) {
+            Process p = workload.next();
+            table.add(p.name, p.arrival, p.burst, p.priority, p.quantum);
+        }
+        table.arrivalOrder();
+        return table;
+    }
+
+    private static CPUScheduler engine(String scheduler, int quantum, int contextSwitch) {
+        return switch (scheduler) {
+            case "RR" -> new RoundRobinScheduler(quantum, contextSwitch);
+            case "SJF" -> new ShortestJobFirstScheduler(contextSwitch);
+            case "AG" -> new AGScheduler();
+            case "Priority" -> new PriorityScheduler(contextSwitch, 5 * quantum);
+            case "CFS" -> new CFSScheduler(8 * quantum, quantum, contextSwitch);
+            default -> throw new IllegalArgumentException("Unknown scheduler: " + scheduler);
+        };
+    }
+
+    // Counted per invocation and reported by JMH as a rate next to the primary score
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Dispatches implements ScheduleListener {
+        public long dispatches;
+
+        @Override
+        public void onDispatch(int process, int time) {
+            dispatches++;
+        }
+    }
+
+    // Bare simulation: only dispatches are observed
+    @Benchmark
+    public void simulate(Engines engines, Dispatches counter) {
+        engines.engine.run(engines.table, counter);
+    }
+
+    // Simulation plus the full SchedulerResult most callers ask for
+    @Benchmark
+    public void result(Engines engines, Blackhole blackhole) {
+        blackhole.consume(engines.engine.run(engines.table));
+    }
+
+    @Benchmark
+    public void settings(Settings settings, Dispatches counter) {
+        settings.engine.run(settings.table, counter);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SchedulerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}